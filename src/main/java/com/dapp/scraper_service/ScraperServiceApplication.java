@@ -3,9 +3,11 @@ package com.dapp.scraper_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching // Habilita el soporte de caché de Spring
+@EnableScheduling // Para volcar periódicamente los contadores de acceso
 public class ScraperServiceApplication {
 
 	public static void main(String[] args) {
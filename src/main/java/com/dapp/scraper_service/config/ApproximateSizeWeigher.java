@@ -0,0 +1,73 @@
+package com.dapp.scraper_service.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Estima en bytes cuánto ocupa un valor de la caché (listas de DTOs). No busca
+ * exactitud: alcanza con que una plantilla completa pese bastante más que un
+ * jugador suelto.
+ */
+public class ApproximateSizeWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int STRING_OVERHEAD = 40;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long size = sizeOf(key) + sizeOf(value);
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return STRING_OVERHEAD + s.length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + (long) REFERENCE * collection.size();
+            for (Object item : collection) {
+                size += sizeOf(item);
+            }
+            return size;
+        }
+        // DTOs: cabecera más cada campo
+        List<Field> fields = FIELDS.get(value.getClass());
+        long size = OBJECT_HEADER + (long) REFERENCE * fields.size();
+        for (Field field : fields) {
+            try {
+                size += sizeOf(field.get(value));
+            } catch (IllegalAccessException e) {
+                // No debería pasar: los campos se abren al calcular FIELDS
+            }
+        }
+        return size;
+    }
+}
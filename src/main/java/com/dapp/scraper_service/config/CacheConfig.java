@@ -0,0 +1,60 @@
+package com.dapp.scraper_service.config;
+
+import com.dapp.scraper_service.util.QueryNormalizer;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Cachés "players" y "teams", cada una con su propio límite en bytes
+ * aproximados y vencimiento. Son asíncronas: el método cacheado corre con la
+ * búsqueda tal como llegó y fuera del compute de Caffeine (ver
+ * {@link LookupCaffeineCache}).
+ * Las entradas no se recargan solas; las descarta LookupCacheInvalidator
+ * cuando se confirma un guardado que las afecta.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public KeyGenerator normalizedQueryKeyGenerator() {
+        // Todos los métodos cacheados reciben la búsqueda como primer parámetro
+        return (target, method, params) -> QueryNormalizer.normalize((String) params[0]);
+    }
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${scraper.cache.players.maximum-weight:32MB}") DataSize playersMaximumWeight,
+            @Value("${scraper.cache.players.expire-after-write:6h}") Duration playersExpireAfterWrite,
+            @Value("${scraper.cache.teams.maximum-weight:32MB}") DataSize teamsMaximumWeight,
+            @Value("${scraper.cache.teams.expire-after-write:6h}") Duration teamsExpireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                return new LookupCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.registerCustomCache("players",
+                builder(playersMaximumWeight, playersExpireAfterWrite).buildAsync());
+        cacheManager.registerCustomCache("teams",
+                builder(teamsMaximumWeight, teamsExpireAfterWrite).buildAsync());
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> builder(DataSize maximumWeight, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher(new ApproximateSizeWeigher())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+    }
+}
@@ -0,0 +1,74 @@
+package com.dapp.scraper_service.config;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import com.dapp.scraper_service.service.LookupDataChangedEvent;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import com.dapp.scraper_service.web.SerializedResponseCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cuando se confirma un guardado, descarta las búsquedas afectadas de las
+ * cachés "players" y "teams" y de la caché de respuestas serializadas, sin
+ * esperar al vencimiento.
+ */
+@Component
+public class LookupCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final SerializedResponseCache responseCache;
+
+    public LookupCacheInvalidator(CacheManager cacheManager, SerializedResponseCache responseCache) {
+        this.cacheManager = cacheManager;
+        this.responseCache = responseCache;
+    }
+
+    // Corre en el afterCompletion del guardado: al volver, ninguna caché sirve datos
+    // de antes. Las cargas de estas cachés corren fuera del compute de Caffeine,
+    // así que se pueden modificar desde acá aunque el guardado venga de una de ellas
+    @EventListener
+    public void onLookupDataChanged(LookupDataChangedEvent event) {
+        evict("players", event.players());
+        evict("teams", event.teams());
+        // Al final: las respuestas serializadas se rearman desde "players" y "teams"
+        responseCache.evict(event);
+    }
+
+    private void evict(String cacheName, Set<String> changed) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (changed.isEmpty() || !(cache instanceof CaffeineCache caffeineCache)) {
+            return;
+        }
+        // Una búsqueda que todavía se está cargando puede haber leído los datos de
+        // antes del guardado: se descarta si los nombres cambiados la contienen
+        caffeineCache.getAsyncCache().asMap().entrySet().removeIf(entry -> LookupDataChangedEvent
+                .affects(changed, (String) entry.getKey(), namesOf(entry.getValue())));
+    }
+
+    private static List<String> namesOf(CompletableFuture<Object> future) {
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            return List.of();
+        }
+        Object value = future.join();
+        List<String> names = new ArrayList<>();
+        if (value instanceof List<?> items) {
+            for (Object item : items) {
+                if (item instanceof PlayerDTO player) {
+                    names.add(QueryNormalizer.normalize(player.getName()));
+                } else if (item instanceof TeamDTO team) {
+                    names.add(QueryNormalizer.normalize(team.getName()));
+                }
+            }
+        }
+        return names;
+    }
+}
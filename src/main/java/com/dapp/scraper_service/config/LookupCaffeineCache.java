@@ -0,0 +1,32 @@
+package com.dapp.scraper_service.config;
+
+import com.dapp.scraper_service.util.AsyncCacheLoads;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * CaffeineCache de Spring para @Cacheable(sync = true) que corre el método
+ * cacheado en el hilo del pedido, fuera del compute de Caffeine (ver
+ * {@link AsyncCacheLoads}). La de Spring lo corre en el executor de la caché
+ * desde adentro del compute, antes de que el future quede en el mapa.
+ */
+class LookupCaffeineCache extends CaffeineCache {
+
+    LookupCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(AsyncCacheLoads.getOrLoad(getAsyncCache(), key, () -> {
+            try {
+                return toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }));
+    }
+}
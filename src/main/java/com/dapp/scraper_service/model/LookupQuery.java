@@ -0,0 +1,39 @@
+package com.dapp.scraper_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cuántas veces se pidió una búsqueda (ya normalizada) a /player o /team. La
+ * usa la precarga al arrancar para calentar exactamente las claves que llegan
+ * en los pedidos, que no siempre coinciden con el nombre completo guardado
+ * ("messi" y no "lionel messi").
+ */
+@Entity
+@Table(name = "lookup_queries", indexes = @Index(columnList = "type, access_count"))
+@Data
+@NoArgsConstructor
+public class LookupQuery {
+
+    // type:búsqueda, por ejemplo "player:messi"
+    @Id
+    private String id;
+
+    // "player" o "team"
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private String query;
+
+    @Column(name = "access_count", nullable = false)
+    private Long accessCount = 0L;
+
+    public LookupQuery(String type, String query, long accessCount) {
+        this.id = type + ":" + query;
+        this.type = type;
+        this.query = query;
+        this.accessCount = accessCount;
+    }
+}
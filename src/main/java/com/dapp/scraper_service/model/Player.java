@@ -3,12 +3,14 @@ package com.dapp.scraper_service.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "players") // Es una buena práctica nombrar las tablas en plural
+@Table(name = "players", indexes = { @Index(columnList = "normalized_name"), @Index(columnList = "whoscored_id") }) // Es una buena práctica nombrar las tablas en plural
 @Data
 @NoArgsConstructor
 public class Player {
@@ -20,6 +22,20 @@ public class Player {
     @Column(unique = true, nullable = false)
     private String name;
 
+    // Nombre pasado por QueryNormalizer; es la columna sobre la que se busca
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    // Id del jugador en WhoScored (sale del enlace a su página); con él se lo
+    // encuentra desde la plantilla de un equipo, que muestra otro nombre
+    @Column(name = "whoscored_id")
+    private Long whoScoredId;
+
+    // Se incrementa en cada actualización; de acá sale el ETag de las respuestas.
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     private String currentTeam;
     private String shirtNumber;
     private String age;
@@ -32,7 +48,17 @@ public class Player {
     // guardan/eliminan sus estadísticas.
     // orphanRemoval = true: Si quitamos una estadística de la lista, se elimina de
     // la BD.
+    // Se ordenan por fecha, los partidos más recientes primero. El id ya no sirve
+    // para eso: al volver a scrapear, los partidos que ya estaban conservan su id
+    // y los nuevos quedan con ids mayores. Sin fecha, al final y por id.
     @OneToMany(mappedBy = "player", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("matchDate DESC NULLS LAST, id ASC")
     private List<PlayerMatchStats> matchStats = new ArrayList<>();
 
-}
\ No newline at end of file
+    @PrePersist
+    @PreUpdate
+    void fillNormalizedName() {
+        normalizedName = QueryNormalizer.normalize(name);
+    }
+
+}
@@ -4,8 +4,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
 @Entity
-@Table(name = "player_match_stats")
+@Table(name = "player_match_stats", indexes = @Index(columnList = "player_id, match_date"))
 @Data
 @NoArgsConstructor
 public class PlayerMatchStats {
@@ -17,6 +22,10 @@ public class PlayerMatchStats {
     private String opponent;
     private String score;
     private String date;
+
+    // La misma fecha como LocalDate, para poder filtrar por rango en la consulta
+    @Column(name = "match_date")
+    private LocalDate matchDate;
     private String position;
     private String minsPlayed;
     private String goals;
@@ -34,4 +43,29 @@ public class PlayerMatchStats {
     @JsonIgnore // Evita problemas de serialización infinita
     private Player player;
 
+    // Formatos en los que WhoScored muestra la fecha del partido
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("dd-MM-yy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+    // También la usa MatchDateBackfill para las filas guardadas antes de existir la columna
+    @PrePersist
+    @PreUpdate
+    public void fillMatchDate() {
+        matchDate = null;
+        if (date == null || date.isBlank()) {
+            return;
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                matchDate = LocalDate.parse(date.trim(), format);
+                return;
+            } catch (DateTimeParseException ignored) {
+                // Probamos con el siguiente formato
+            }
+        }
+    }
+
 }
\ No newline at end of file
@@ -3,12 +3,14 @@ package com.dapp.scraper_service.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "teams")
+@Table(name = "teams", indexes = @Index(columnList = "normalized_name"))
 @Data
 @NoArgsConstructor
 public class Team {
@@ -20,10 +22,25 @@ public class Team {
     @Column(unique = true, nullable = false)
     private String name;
 
+    // Nombre pasado por QueryNormalizer; es la columna sobre la que se busca
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    // Se incrementa en cada actualización; de acá sale el ETag de las respuestas.
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     // Un equipo tiene una plantilla de muchos jugadores.
     // Si guardamos/eliminamos un equipo, también se guardan/eliminan los jugadores
     // de su plantilla.
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<TeamPlayer> squad = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    void fillNormalizedName() {
+        normalizedName = QueryNormalizer.normalize(name);
+    }
+
 }
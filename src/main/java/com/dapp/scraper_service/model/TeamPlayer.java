@@ -16,6 +16,10 @@ public class TeamPlayer {
     private Long id;
 
     private String name;
+
+    // Enlace a la página del jugador en WhoScored ("/Players/11119/Show/...")
+    private String profileUrl;
+
     private String age;
     private String position;
     private String height;
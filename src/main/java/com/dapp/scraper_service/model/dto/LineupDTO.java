@@ -0,0 +1,19 @@
+package com.dapp.scraper_service.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineupDTO {
+    private String name;
+    private List<LineupPlayerDTO> squad;
+    // Jugadores que se siguen scrapeando; volver a pedir la alineación los completa
+    private List<String> pending;
+    // Jugadores cuyo scrapeo falló o no encontró a ese jugador exacto; no tienen partidos
+    private List<String> failed;
+}
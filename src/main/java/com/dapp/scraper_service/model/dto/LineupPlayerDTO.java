@@ -0,0 +1,16 @@
+package com.dapp.scraper_service.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LineupPlayerDTO {
+    private TeamPlayerDTO player;
+    // Vacía mientras el jugador siga pendiente de scrapeo o si su scrapeo falló
+    private List<PlayerMatchStatsDTO> recentMatches;
+}
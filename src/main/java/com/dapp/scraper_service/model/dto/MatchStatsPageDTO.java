@@ -0,0 +1,17 @@
+package com.dapp.scraper_service.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchStatsPageDTO {
+    // PlayerMatchStatsDTO completos, o mapas con los campos pedidos en "fields"
+    private List<Object> items;
+    // Cursor a pasar como "after" para pedir la página siguiente; null si no hay más
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.dapp.scraper_service.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.util.List;
@@ -14,4 +15,12 @@ public class PlayerDTO {
     private String nationality;
     private String currentTeam;
     private List<PlayerMatchStatsDTO> matchStats;
-}
\ No newline at end of file
+
+    // Id del jugador en WhoScored, para encontrarlo desde una plantilla; no se serializa
+    @JsonIgnore
+    private Long whoScoredId;
+
+    // Versión de la fila en la base; no se serializa
+    @JsonIgnore
+    private Long version;
+}
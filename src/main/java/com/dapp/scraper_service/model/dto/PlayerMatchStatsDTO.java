@@ -1,14 +1,15 @@
 package com.dapp.scraper_service.model.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.With;
+import lombok.extern.jackson.Jacksonized;
 
-@Data
+// Inmutable: el ReadModel y las cachés comparten las mismas instancias
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Jacksonized
 public class PlayerMatchStatsDTO {
     private String opponent;
     private String score;
@@ -23,4 +24,10 @@ public class PlayerMatchStatsDTO {
     private String passSuccess;
     private String aerialsWon;
     private String rating;
-}
\ No newline at end of file
+
+    // Cursor de /player/matches para seguir después de esta fila; solo se
+    // completa (y serializa) en ese endpoint
+    @With
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String cursor;
+}
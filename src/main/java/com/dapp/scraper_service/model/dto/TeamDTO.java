@@ -1,10 +1,15 @@
 package com.dapp.scraper_service.model.dto;
 
 import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 @Data
 public class TeamDTO {
     private String name;
     private List<TeamPlayerDTO> squad;
+
+    // Versión de la fila en la base; no se serializa
+    @JsonIgnore
+    private Long version;
 }
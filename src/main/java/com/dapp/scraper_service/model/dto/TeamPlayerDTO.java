@@ -1,16 +1,22 @@
 package com.dapp.scraper_service.model.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
-@Data
+// Inmutable: el ReadModel y las cachés comparten las mismas instancias
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Jacksonized
 public class TeamPlayerDTO {
     private String name;
+
+    // Enlace a la página del jugador; la plantilla muestra un nombre corto que no
+    // sirve para buscarlo. No se serializa
+    @JsonIgnore
+    private String profileUrl;
+
     private String age;
     private String position;
     private String height;
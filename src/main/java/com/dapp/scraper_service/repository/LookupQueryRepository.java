@@ -0,0 +1,22 @@
+package com.dapp.scraper_service.repository;
+
+import com.dapp.scraper_service.model.LookupQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LookupQueryRepository extends JpaRepository<LookupQuery, String> {
+
+    // Devuelve 0 si la búsqueda todavía no tiene fila
+    @Modifying
+    @Query("update LookupQuery q set q.accessCount = q.accessCount + :delta where q.id = :id")
+    int incrementAccessCount(@Param("id") String id, @Param("delta") long delta);
+
+    // Búsquedas de un tipo ordenadas por cantidad de pedidos, de mayor a menor
+    @Query("select q.query from LookupQuery q where q.type = :type order by q.accessCount desc")
+    List<String> findMostRequested(@Param("type") String type, Pageable pageable);
+}
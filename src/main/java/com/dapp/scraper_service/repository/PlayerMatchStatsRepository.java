@@ -0,0 +1,43 @@
+package com.dapp.scraper_service.repository;
+
+import com.dapp.scraper_service.model.PlayerMatchStats;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PlayerMatchStatsRepository extends JpaRepository<PlayerMatchStats, Long> {
+
+    // Mismo orden que Player.matchStats. El cursor (afterDate, afterId) es la
+    // última fila devuelta; sin cursor, afterId es null y se empieza del principio.
+    String MATCHES_QUERY = "select s from PlayerMatchStats s where s.player.id = :playerId"
+            + " and (:from is null or s.matchDate >= :from) and (:to is null or s.matchDate <= :to)"
+            + " and (:afterId is null"
+            + " or (:afterDate is null and s.matchDate is null and s.id > :afterId)"
+            + " or (:afterDate is not null and (s.matchDate < :afterDate or s.matchDate is null"
+            + " or (s.matchDate = :afterDate and s.id > :afterId))))"
+            + " order by s.matchDate desc nulls last, s.id";
+
+    // Filas guardadas antes de existir la columna match_date
+    List<PlayerMatchStats> findByMatchDateIsNullAndDateIsNotNull();
+
+    // Paginación por cursor (keyset): trae las filas que siguen a (afterDate, afterId).
+    // El tamaño de la página sale del Pageable.
+    @Query(MATCHES_QUERY)
+    List<PlayerMatchStats> findPage(@Param("playerId") Long playerId, @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId, @Param("from") LocalDate from, @Param("to") LocalDate to,
+            Pageable pageable);
+
+    // Igual que findPage pero sin límite, recorriendo el resultado con un cursor.
+    // Tiene que consumirse dentro de una transacción.
+    @Query(MATCHES_QUERY)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "200"))
+    Stream<PlayerMatchStats> streamMatches(@Param("playerId") Long playerId, @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,21 +1,47 @@
 package com.dapp.scraper_service.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.dapp.scraper_service.model.Player;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
-    // Busca jugadores cuyo nombre contenga el término de búsqueda (ignorando
-    // mayúsculas/minúsculas)
-    // Esto se traduce a una consulta SQL: WHERE lower(name) LIKE lower('%' || ? ||
-    // '%')
-    List<Player> findByNameContainingIgnoreCase(String name);
+    // Busca jugadores cuyo nombre normalizado contenga el término, que ya tiene
+    // que venir pasado por QueryNormalizer.
+    // Esto se traduce a una consulta SQL: WHERE normalized_name LIKE '%' || ? || '%'
+    List<Player> findByNormalizedNameContaining(String normalizedName);
+
+    // Jugador con ese nombre normalizado exacto, para actualizarlo al guardar.
+    // findFirst por si quedaron filas repetidas de antes de normalizar.
+    Optional<Player> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
+
+    // Filas guardadas antes de existir la columna normalized_name
+    List<Player> findByNormalizedNameIsNull();
+
+    // Varios jugadores por nombre normalizado exacto, con sus estadísticas en la
+    // misma consulta (evita el N+1 al armar una alineación)
+    @EntityGraph(attributePaths = "matchStats")
+    List<Player> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    // Todos los jugadores con sus estadísticas, para armar el ReadModel
+    @EntityGraph(attributePaths = "matchStats")
+    @Query("select p from Player p")
+    List<Player> findAllWithMatchStats();
+
+    // Jugador por su id de WhoScored
+    Optional<Player> findFirstByWhoScoredIdOrderByIdAsc(Long whoScoredId);
+
+    // Varios jugadores por id de WhoScored, con sus estadísticas (alineaciones)
+    @EntityGraph(attributePaths = "matchStats")
+    List<Player> findByWhoScoredIdIn(Collection<Long> whoScoredIds);
 
     // Busca un jugador por nombre exacto
     Optional<Player> findByName(String name);
-}
\ No newline at end of file
+}
@@ -1,16 +1,36 @@
 package com.dapp.scraper_service.repository;
 
 import com.dapp.scraper_service.model.Team;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
-    // Busca equipos cuyo nombre contenga el término de búsqueda (ignorando
-    // mayúsculas/minúsculas)
-    List<Team> findByNameContainingIgnoreCase(String name);
+    // Busca equipos cuyo nombre normalizado contenga el término, que ya tiene
+    // que venir pasado por QueryNormalizer
+    List<Team> findByNormalizedNameContaining(String normalizedName);
+
+    // Equipo con ese nombre normalizado exacto, para actualizarlo al guardar.
+    // findFirst por si quedaron filas repetidas de antes de normalizar.
+    Optional<Team> findFirstByNormalizedNameOrderByIdAsc(String normalizedName);
+
+    // Varios equipos por nombre normalizado exacto, con su plantilla en la misma
+    // consulta (carga de páginas archivadas por lotes)
+    @EntityGraph(attributePaths = "squad")
+    List<Team> findByNormalizedNameIn(Collection<String> normalizedNames);
+
+    // Filas guardadas antes de existir la columna normalized_name
+    List<Team> findByNormalizedNameIsNull();
+
+    // Todos los equipos con su plantilla, para armar el ReadModel
+    @EntityGraph(attributePaths = "squad")
+    @Query("select t from Team t")
+    List<Team> findAllWithSquad();
 
     // Busca un equipo por nombre exacto
     Optional<Team> findByName(String name);
-}
\ No newline at end of file
+}
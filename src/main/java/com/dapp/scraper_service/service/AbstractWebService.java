@@ -1,19 +1,30 @@
 // En tu proyecto scraper-service
 package com.dapp.scraper_service.service;
 
+import org.jsoup.nodes.Document;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 public abstract class AbstractWebService {
@@ -22,14 +33,24 @@ public abstract class AbstractWebService {
     protected static final String BASE_URL = "https://es.whoscored.com/";
     protected static final String NOT_FOUND = "Not found";
 
+    private static final Pattern PLAYER_ID = Pattern.compile("/Players/(\\d+)(/|$)");
+
     private final RestTemplate restTemplate;
 
     @Value("${scraper.api.key}")
     private String apiKey;
 
+    // Se puede apuntar a un servidor local para pruebas de carga
+    @Value("${scraper.api.base-url:https://app.scrapingbee.com/api/v1/}")
+    private String apiBaseUrl;
+
     @Value("${scraper.timeout:30000}")
     private int timeout;
 
+    // Límite de bytes que aceptamos de ScrapingBee por página
+    @Value("${scraper.max-response-bytes:8388608}")
+    private long maxResponseBytes;
+
     public AbstractWebService() {
         this.restTemplate = new RestTemplate();
         DefaultUriBuilderFactory defaultUriBuilderFactory = new DefaultUriBuilderFactory();
@@ -37,7 +58,19 @@ public abstract class AbstractWebService {
         this.restTemplate.setUriTemplateHandler(defaultUriBuilderFactory);
     }
 
-    protected String getHtmlContent(String baseUrl, String searchTerm) {
+    /**
+     * Id de WhoScored en un enlace a la página de un jugador, por ejemplo 11119
+     * en "/Players/11119/Show/Lionel-Messi". Null si el enlace no lo tiene.
+     */
+    static Long playerIdFromUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = PLAYER_ID.matcher(url);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    protected Document getSearchDocument(String baseUrl, String searchTerm) {
         log.debug("Searching for: {}", searchTerm);
 
         String decodedSearch = URLDecoder.decode(searchTerm, StandardCharsets.UTF_8);
@@ -49,42 +82,36 @@ public abstract class AbstractWebService {
                 .build()
                 .toUriString();
 
-        return getHtmlContent(targetUrl, true, "div.search-result");
+        return getDocument(targetUrl, true, "div.search-result", null);
     }
 
-    protected String getHtmlContent(String targetUrl) {
-        return getHtmlContent(targetUrl, true, null);
+    protected Document getDocument(String targetUrl) {
+        return getDocument(targetUrl, true, null, null);
     }
 
-    private String getHtmlContent(String targetUrl, boolean renderJavascript, String waitForSelector) {
-        try {
-            String encodedTargetUrl = URLEncoder.encode(targetUrl, StandardCharsets.UTF_8.toString());
-
-            UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl("https://app.scrapingbee.com/api/v1/")
-                    .queryParam("api_key", apiKey)
-                    .queryParam("url", encodedTargetUrl)
-                    .queryParam("render_js", renderJavascript)
-                    .queryParam("country_code", "es")
-                    .queryParam("timeout", timeout)
-                    .queryParam("premium_proxy", "true");
-            // Removemos los headers problemáticos por ahora
-
-            if (renderJavascript) {
-                builder.queryParam("wait", "2000");
-                if (waitForSelector != null && !waitForSelector.isEmpty()) {
-                    builder.queryParam("wait_for", waitForSelector);
-                }
-            }
+    /**
+     * Descarga la página y la parsea en streaming. Si se indica
+     * {@code stopSelector}, la lectura se corta apenas el elemento que lo cumple
+     * está completo; el documento devuelto contiene todo lo parseado hasta ese
+     * punto.
+     */
+    protected Document getDocument(String targetUrl, String stopSelector) {
+        return getDocument(targetUrl, true, null, stopSelector);
+    }
 
-            URI finalApiUri = builder.build(true).toUri();
+    private Document getDocument(String targetUrl, boolean renderJavascript, String waitForSelector,
+            String stopSelector) {
+        try {
+            URI finalApiUri = buildApiUri(targetUrl, renderJavascript, waitForSelector);
 
             log.debug("Executing ScrapingBee call for: {}", targetUrl);
 
-            String result = restTemplate.getForObject(finalApiUri, String.class);
+            Document result = restTemplate.execute(finalApiUri, HttpMethod.GET, null,
+                    response -> parse(response.getBody(), targetUrl, stopSelector));
 
-            if (result == null || result.trim().isEmpty()) {
+            if (result == null || result.body().childNodeSize() == 0) {
                 log.warn("Empty response from ScrapingBee");
-                return NOT_FOUND;
+                return new Document(targetUrl);
             }
 
             return result;
@@ -94,4 +121,87 @@ public abstract class AbstractWebService {
             throw new RuntimeException("Error during scraping API call for: " + targetUrl, e);
         }
     }
-}
\ No newline at end of file
+
+    private URI buildApiUri(String targetUrl, boolean renderJavascript, String waitForSelector) {
+        String encodedTargetUrl = URLEncoder.encode(targetUrl, StandardCharsets.UTF_8);
+
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(apiBaseUrl)
+                .queryParam("api_key", apiKey)
+                .queryParam("url", encodedTargetUrl)
+                .queryParam("render_js", renderJavascript)
+                .queryParam("country_code", "es")
+                .queryParam("timeout", timeout)
+                .queryParam("premium_proxy", "true");
+        // Removemos los headers problemáticos por ahora
+
+        if (renderJavascript) {
+            builder.queryParam("wait", "2000");
+            if (waitForSelector != null && !waitForSelector.isEmpty()) {
+                builder.queryParam("wait_for", waitForSelector);
+            }
+        }
+
+        return builder.build(true).toUri();
+    }
+
+    // Visible en el paquete para probarlo con las páginas de src/test/resources/fixtures
+    Document parse(InputStream body, String targetUrl, String stopSelector) throws IOException {
+        if (body == null) {
+            return null;
+        }
+        // StreamParser exige un Reader con mark()
+        Reader reader = new BufferedReader(new InputStreamReader(new BoundedInputStream(body, maxResponseBytes),
+                StandardCharsets.UTF_8));
+        try (StreamParser streamParser = new StreamParser(Parser.htmlParser()).parse(reader, targetUrl)) {
+            if (stopSelector == null) {
+                return streamParser.complete();
+            }
+            if (streamParser.selectFirst(stopSelector) == null) {
+                log.warn("Section '{}' not found while streaming {}", stopSelector, targetUrl);
+            } else {
+                // Ya tenemos la sección completa: no seguimos leyendo el resto de la página
+                streamParser.stop();
+            }
+            return streamParser.document();
+        }
+    }
+
+    /**
+     * Corta la lectura con error si la respuesta supera el máximo configurado.
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long read;
+
+        BoundedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            read += n;
+            if (read > maxBytes) {
+                throw new IOException("Response exceeded the maximum of " + maxBytes + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.LookupQuery;
+import com.dapp.scraper_service.repository.LookupQueryRepository;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta en memoria cuántas veces se pide cada búsqueda normalizada de jugador
+ * y de equipo, y cada tanto suma esos contadores en la base. No escribimos en
+ * cada lectura.
+ */
+@Component
+public class AccessCountTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessCountTracker.class);
+
+    public static final String PLAYER = "player";
+    public static final String TEAM = "team";
+
+    private final LookupQueryRepository lookupQueryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Clave: type:búsqueda normalizada, igual que el id de LookupQuery
+    private final Map<String, LongAdder> accesses = new ConcurrentHashMap<>();
+
+    public AccessCountTracker(LookupQueryRepository lookupQueryRepository, TransactionTemplate transactionTemplate) {
+        this.lookupQueryRepository = lookupQueryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void recordPlayerQuery(String query) {
+        record(PLAYER, query);
+    }
+
+    public void recordTeamQuery(String query) {
+        record(TEAM, query);
+    }
+
+    private void record(String type, String query) {
+        accesses.computeIfAbsent(type + ":" + QueryNormalizer.normalize(query), k -> new LongAdder()).increment();
+    }
+
+    // Al cerrar, con el evento y no con @PreDestroy: los repositorios se inyectan
+    // como proxies diferidos y para entonces ya pueden estar destruidos
+    @Scheduled(fixedDelayString = "${scraper.access-counts.flush-interval-ms:60000}")
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void flush() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (String id : accesses.keySet()) {
+                    LongAdder adder = accesses.remove(id);
+                    long delta = adder == null ? 0 : adder.sum();
+                    if (delta > 0 && lookupQueryRepository.incrementAccessCount(id, delta) == 0) {
+                        int separator = id.indexOf(':');
+                        lookupQueryRepository.save(
+                                new LookupQuery(id.substring(0, separator), id.substring(separator + 1), delta));
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Could not persist access counts: {}", e.getMessage());
+        }
+    }
+}
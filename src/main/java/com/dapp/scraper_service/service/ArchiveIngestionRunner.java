@@ -0,0 +1,40 @@
+package com.dapp.scraper_service.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Si se arranca con {@code --scraper.ingest.dir=<directorio>}, carga las
+ * páginas archivadas de ese directorio al arrancar. Los ApplicationRunner
+ * corren con Tomcat ya aceptando pedidos, que mientras tanto se responden con
+ * lo que haya en la base; lo que espera a la carga es
+ * {@code /actuator/health/readiness}, que recién pasa a ACCEPTING_TRAFFIC
+ * cuando termina.
+ */
+@Component
+public class ArchiveIngestionRunner implements ApplicationRunner {
+
+    private final ObjectProvider<ArchiveIngestionService> ingestionService;
+
+    // Se revisa en tiempo de ejecución (y no con @ConditionalOnProperty) para
+    // que funcione igual con el contexto procesado AOT
+    @Value("${scraper.ingest.dir:}")
+    private String ingestDir;
+
+    public ArchiveIngestionRunner(ObjectProvider<ArchiveIngestionService> ingestionService) {
+        this.ingestionService = ingestionService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (ingestDir == null || ingestDir.isBlank()) {
+            return;
+        }
+        ingestionService.getObject().ingest(Path.of(ingestDir));
+    }
+}
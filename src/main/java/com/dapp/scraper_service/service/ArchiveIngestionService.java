@@ -0,0 +1,193 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Carga en la base páginas de WhoScored guardadas en disco, sin pasar por
+ * ScrapingBee. Se reconocen por el sufijo del archivo:
+ * <ul>
+ * <li>{@code <nombre>.summary.html}: resumen de un jugador. Si existe
+ * {@code <nombre>.stats.html} al lado, se usan sus estadísticas.</li>
+ * <li>{@code <nombre>.team.html}: página de un equipo.</li>
+ * <li>{@code <nombre>.search.html}: resultados de búsqueda; no traen datos para
+ * guardar y se ignoran.</li>
+ * </ul>
+ * Las páginas se parsean en paralelo y se guardan por lotes, cada lote en una
+ * transacción, buscando los ya guardados con una consulta por lote. Los ids son
+ * IDENTITY, así que Hibernate no puede agrupar los INSERT en batches JDBC: cada
+ * fila nueva es una sentencia. Las actualizaciones y borrados sí se agrupan
+ * (hibernate.jdbc.batch_size). Lo ya guardado se anota en un archivo de checkpoint dentro del
+ * directorio, así una corrida interrumpida retoma desde ahí.
+ */
+@Service
+@Lazy // Solo se usa si se pide una carga; no hace falta crearlo al arrancar
+public class ArchiveIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveIngestionService.class);
+
+    static final String CHECKPOINT_FILE = ".ingest-checkpoint";
+    private static final String SUMMARY_SUFFIX = ".summary.html";
+    private static final String STATS_SUFFIX = ".stats.html";
+    private static final String TEAM_SUFFIX = ".team.html";
+    private static final String BASE_URL = AbstractWebService.BASE_URL;
+
+    private final PlayerService playerService;
+    private final TeamService teamService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scraper.ingest.batch-size:500}")
+    private int batchSize;
+
+    // 0 = un hilo por núcleo
+    @Value("${scraper.ingest.parallelism:0}")
+    private int parallelism;
+
+    public ArchiveIngestionService(PlayerService playerService, TeamService teamService,
+            TransactionTemplate transactionTemplate) {
+        this.playerService = playerService;
+        this.teamService = teamService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void ingest(Path root) throws IOException {
+        Path checkpointPath = root.resolve(CHECKPOINT_FILE);
+        Set<String> done = Files.exists(checkpointPath)
+                ? new HashSet<>(Files.readAllLines(checkpointPath, StandardCharsets.UTF_8))
+                : new HashSet<>();
+
+        List<ArchivedPage> pending;
+        try (Stream<Path> files = Files.walk(root)) {
+            pending = files.filter(Files::isRegularFile)
+                    .map(file -> classify(root, file))
+                    .filter(Objects::nonNull)
+                    .filter(page -> !done.contains(page.key()))
+                    .sorted(Comparator.comparing(ArchivedPage::key))
+                    .toList();
+        }
+        log.info("Archive ingestion from {}: {} page(s) pending, {} already done.", root, pending.size(),
+                done.size());
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        int saved = 0;
+        int failed = 0;
+
+        try (BufferedWriter checkpoint = Files.newBufferedWriter(checkpointPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (int from = 0; from < pending.size(); from += batchSize) {
+                List<ArchivedPage> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+
+                List<ParsedPage> parsed = pool.submit(() -> batch.parallelStream()
+                        .map(this::parse)
+                        .filter(Objects::nonNull)
+                        .toList()).get();
+                failed += batch.size() - parsed.size();
+
+                transactionTemplate.executeWithoutResult(status -> save(parsed));
+
+                // Recién con el lote confirmado lo marcamos como hecho
+                for (ParsedPage page : parsed) {
+                    checkpoint.write(page.key());
+                    checkpoint.newLine();
+                }
+                checkpoint.flush();
+                saved += parsed.size();
+
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+                log.info("Archive ingestion: {}/{} page(s) processed, {} saved, {} failed ({} pages/s).",
+                        from + batch.size(), pending.size(), saved, failed,
+                        String.format("%.1f", (from + batch.size()) / seconds));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Archive ingestion interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Archive ingestion failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        log.info("Archive ingestion finished: {} saved, {} failed in {} ms.", saved, failed,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private ArchivedPage classify(Path root, Path file) {
+        String key = root.relativize(file).toString().replace('\\', '/');
+        String fileName = file.getFileName().toString();
+        if (fileName.endsWith(SUMMARY_SUFFIX)) {
+            String baseName = fileName.substring(0, fileName.length() - SUMMARY_SUFFIX.length());
+            Path stats = file.resolveSibling(baseName + STATS_SUFFIX);
+            return new ArchivedPage(key, file, Files.exists(stats) ? stats : null, false);
+        }
+        if (fileName.endsWith(TEAM_SUFFIX)) {
+            return new ArchivedPage(key, file, null, true);
+        }
+        // Búsquedas y estadísticas sueltas no se procesan por sí solas
+        return null;
+    }
+
+    private ParsedPage parse(ArchivedPage page) {
+        try {
+            Document doc = Jsoup.parse(page.file().toFile(), StandardCharsets.UTF_8.name(), BASE_URL);
+            if (page.team()) {
+                return new ParsedPage(page.key(), null, teamService.scrapeTeamData(doc));
+            }
+
+            PlayerDTO player = playerService.scrapePlayerData(doc);
+            if (page.stats() != null) {
+                Document statsDoc = Jsoup.parse(page.stats().toFile(), StandardCharsets.UTF_8.name(), BASE_URL);
+                player.setMatchStats(playerService.scrapePlayerMatchStats(statsDoc));
+            } else {
+                player.setMatchStats(new ArrayList<>());
+            }
+            return new ParsedPage(page.key(), player, null);
+        } catch (Exception e) {
+            log.warn("Could not parse archived page {}: {}", page.key(), e.getMessage());
+            return null;
+        }
+    }
+
+    // Un lote: una consulta para los jugadores ya guardados y otra para los equipos
+    private void save(List<ParsedPage> pages) {
+        List<PlayerDTO> players = pages.stream().map(ParsedPage::player).filter(Objects::nonNull).toList();
+        List<TeamDTO> teams = pages.stream().map(ParsedPage::team).filter(Objects::nonNull).toList();
+        if (!players.isEmpty()) {
+            playerService.savePlayers(players);
+        }
+        if (!teams.isEmpty()) {
+            teamService.saveTeams(teams);
+        }
+    }
+
+    private record ArchivedPage(String key, Path file, Path stats, boolean team) {
+    }
+
+    private record ParsedPage(String key, PlayerDTO player, TeamDTO team) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.dto.LineupDTO;
+import com.dapp.scraper_service.model.dto.LineupPlayerDTO;
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.PlayerMatchStatsDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import com.dapp.scraper_service.model.dto.TeamPlayerDTO;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Arma la plantilla de un equipo junto con los últimos partidos de cada
+ * jugador. Los que ya están en la base se traen en una sola consulta; el resto
+ * se scrapea en paralelo, con un máximo de scrapeos simultáneos. Si alguno no
+ * termina dentro de la espera configurada, se devuelve como pendiente y el
+ * scrapeo sigue en segundo plano. Los que fallan se devuelven como fallidos.
+ * <p>
+ * La plantilla muestra nombres cortos, distintos del nombre completo de la
+ * página del jugador, así que cada jugador se identifica por el id de WhoScored
+ * del enlace de su fila y se scrapea desde ese enlace. Solo las filas sin
+ * enlace (equipos guardados antes de tenerlo) se buscan por nombre exacto.
+ */
+@Service
+public class LineupService {
+
+    private static final Logger log = LoggerFactory.getLogger(LineupService.class);
+
+    private final TeamService teamService;
+    private final PlayerService playerService;
+    private final ExecutorService scrapeExecutor;
+    private final Duration maxWait;
+
+    // Un único scrapeo por jugador aunque lo pidan varias alineaciones a la vez
+    private final Map<String, CompletableFuture<PlayerDTO>> inFlight = new ConcurrentHashMap<>();
+
+    public LineupService(TeamService teamService, PlayerService playerService,
+            @Value("${scraper.lineup.max-concurrent-scrapes:4}") int maxConcurrentScrapes,
+            @Value("${scraper.lineup.max-wait:3s}") Duration maxWait) {
+        this.teamService = teamService;
+        this.playerService = playerService;
+        // Pool acotado de hilos de plataforma: limita los scrapeos simultáneos contra
+        // ScrapingBee, y ningún hilo virtual queda clavado a su carrier si el scrapeo
+        // termina adentro de algún bloque synchronized
+        this.scrapeExecutor = Executors.newFixedThreadPool(maxConcurrentScrapes,
+                Thread.ofPlatform().name("lineup-scrape-", 0).daemon().factory());
+        this.maxWait = maxWait;
+    }
+
+    public LineupDTO getLineup(String teamName, int matches) {
+        TeamDTO team = teamService.getTeamInfoByName(teamName).get(0);
+
+        // Clave -> jugador de la plantilla, respetando el orden original
+        Map<String, TeamPlayerDTO> squad = new LinkedHashMap<>();
+        for (TeamPlayerDTO player : team.getSquad()) {
+            squad.putIfAbsent(squadKey(player), player);
+        }
+
+        Map<Long, String> keysByWhoScoredId = new HashMap<>();
+        List<String> namesWithoutId = new ArrayList<>();
+        for (Map.Entry<String, TeamPlayerDTO> entry : squad.entrySet()) {
+            Long whoScoredId = AbstractWebService.playerIdFromUrl(entry.getValue().getProfileUrl());
+            if (whoScoredId != null) {
+                keysByWhoScoredId.put(whoScoredId, entry.getKey());
+            } else {
+                namesWithoutId.add(entry.getKey());
+            }
+        }
+        Map<String, List<PlayerMatchStatsDTO>> recent = new HashMap<>(
+                playerService.findRecentMatches(namesWithoutId, matches));
+        playerService.findRecentMatchesByWhoScoredId(keysByWhoScoredId.keySet(), matches)
+                .forEach((whoScoredId, stats) -> recent.put(keysByWhoScoredId.get(whoScoredId), stats));
+
+        Map<String, CompletableFuture<PlayerDTO>> scrapes = new LinkedHashMap<>();
+        for (Map.Entry<String, TeamPlayerDTO> entry : squad.entrySet()) {
+            if (!recent.containsKey(entry.getKey())) {
+                scrapes.put(entry.getKey(), scrape(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        if (!scrapes.isEmpty()) {
+            log.info("Lineup for '{}': {} of {} player(s) not in database, scraping.", team.getName(),
+                    scrapes.size(), squad.size());
+            try {
+                CompletableFuture.allOf(scrapes.values().toArray(CompletableFuture[]::new))
+                        .get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Timeout o algún scrapeo fallido: devolvemos lo que haya
+            }
+        }
+
+        List<String> pending = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<PlayerDTO>> entry : scrapes.entrySet()) {
+            CompletableFuture<PlayerDTO> future = entry.getValue();
+            if (!future.isDone()) {
+                pending.add(squad.get(entry.getKey()).getName());
+            } else if (future.isCompletedExceptionally()) {
+                failed.add(squad.get(entry.getKey()).getName());
+            } else {
+                List<PlayerMatchStatsDTO> stats = future.join().getMatchStats();
+                recent.put(entry.getKey(), stats == null ? List.of()
+                        : stats.stream().limit(matches).collect(Collectors.toList()));
+            }
+        }
+
+        List<LineupPlayerDTO> lineup = new ArrayList<>(squad.size());
+        for (Map.Entry<String, TeamPlayerDTO> entry : squad.entrySet()) {
+            lineup.add(new LineupPlayerDTO(entry.getValue(), recent.getOrDefault(entry.getKey(), List.of())));
+        }
+        return new LineupDTO(team.getName(), lineup, pending, failed);
+    }
+
+    // Id de WhoScored del enlace de la fila o, si no tiene, el nombre normalizado
+    private static String squadKey(TeamPlayerDTO player) {
+        Long whoScoredId = AbstractWebService.playerIdFromUrl(player.getProfileUrl());
+        return whoScoredId != null ? "id:" + whoScoredId : QueryNormalizer.normalize(player.getName());
+    }
+
+    private CompletableFuture<PlayerDTO> scrape(String key, TeamPlayerDTO squadPlayer) {
+        CompletableFuture<PlayerDTO> existing = inFlight.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<PlayerDTO> created = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        String playerName = squadPlayer.getName();
+        scrapeExecutor.execute(() -> {
+            try {
+                created.complete(squadPlayer.getProfileUrl() != null
+                        ? playerService.getPlayerInfoByProfile(squadPlayer.getProfileUrl())
+                        : findByExactName(key, playerName));
+            } catch (Exception e) {
+                log.warn("Could not scrape squad player '{}': {}", playerName, e.getMessage());
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    private PlayerDTO findByExactName(String normalizedName, String playerName) {
+        // Pasa por la caché "players": lo que se scrapea acá queda guardado para la próxima
+        List<PlayerDTO> found = playerService.getPlayerInfoByName(playerName);
+        // Solo el jugador exacto: la búsqueda por "contiene" puede traer a otro
+        return found.stream()
+                .filter(p -> QueryNormalizer.normalize(p.getName()).equals(normalizedName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No exact match for squad player '" + playerName + "'."));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scrapeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+package com.dapp.scraper_service.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Se publica después de confirmar el guardado de jugadores o equipos, con los
+ * nombres normalizados que cambiaron (el actual y, si la fila se renombró, el
+ * anterior). Las cachés de búsquedas lo usan para descartar lo que quedó viejo.
+ */
+public record LookupDataChangedEvent(Set<String> players, Set<String> teams) {
+
+    /**
+     * Una búsqueda cacheada quedó vieja si alguno de los nombres cambiados la
+     * contiene (ahora aparece o aparece distinto en el resultado) o si ya
+     * figuraba entre sus resultados.
+     */
+    public static boolean affects(Set<String> changed, String normalizedQuery,
+            Collection<String> normalizedResultNames) {
+        if (changed.isEmpty()) {
+            return false;
+        }
+        for (String name : changed) {
+            if (name.contains(normalizedQuery)) {
+                return true;
+            }
+        }
+        for (String name : normalizedResultNames) {
+            if (changed.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
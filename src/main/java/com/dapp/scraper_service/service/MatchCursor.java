@@ -0,0 +1,41 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.PlayerMatchStats;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Cursor de /player/matches: fecha e id de la última fila devuelta. Sigue el
+ * mismo orden que {@code Player.matchStats} (más recientes primero, sin fecha
+ * al final y, a igual fecha, por id), así la primera página son los últimos
+ * partidos aunque se haya vuelto a scrapear al jugador.
+ * <p>
+ * Se escribe como {@code 2025-12-24_123}, o {@code _123} si la fila no tiene
+ * fecha.
+ */
+public record MatchCursor(LocalDate matchDate, long id) {
+
+    public static MatchCursor of(PlayerMatchStats stats) {
+        return new MatchCursor(stats.getMatchDate(), stats.getId());
+    }
+
+    public static MatchCursor parse(String value) {
+        int separator = value.lastIndexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor '" + value + "'");
+        }
+        try {
+            String date = value.substring(0, separator);
+            return new MatchCursor(date.isEmpty() ? null : LocalDate.parse(date),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + value + "'", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (matchDate == null ? "" : matchDate.toString()) + "_" + id;
+    }
+}
@@ -0,0 +1,43 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.PlayerMatchStats;
+import com.dapp.scraper_service.repository.PlayerMatchStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Completa match_date en las estadísticas guardadas antes de que existiera la
+ * columna. Sin esto, los filtros from/to de /player/matches las dejaban afuera
+ * para siempre, porque un jugador que ya está en la base no se vuelve a scrapear.
+ */
+@Component
+@Order(0)
+public class MatchDateBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchDateBackfill.class);
+
+    private final PlayerMatchStatsRepository matchStatsRepository;
+
+    public MatchDateBackfill(PlayerMatchStatsRepository matchStatsRepository) {
+        this.matchStatsRepository = matchStatsRepository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        List<PlayerMatchStats> stats = matchStatsRepository.findByMatchDateIsNullAndDateIsNotNull();
+        stats.forEach(PlayerMatchStats::fillMatchDate);
+
+        long filled = stats.stream().filter(row -> row.getMatchDate() != null).count();
+        if (filled > 0) {
+            log.info("Filled match dates for {} of {} match stat row(s).", filled, stats.size());
+        }
+    }
+}
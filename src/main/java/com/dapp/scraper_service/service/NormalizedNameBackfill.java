@@ -0,0 +1,49 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.Player;
+import com.dapp.scraper_service.model.Team;
+import com.dapp.scraper_service.repository.PlayerRepository;
+import com.dapp.scraper_service.repository.TeamRepository;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Completa normalized_name en las filas guardadas antes de que existiera la
+ * columna, para que las búsquedas normalizadas también las encuentren.
+ */
+@Component
+@Order(0) // Antes que cualquier carga de páginas archivadas
+public class NormalizedNameBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(NormalizedNameBackfill.class);
+
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+
+    public NormalizedNameBackfill(PlayerRepository playerRepository, TeamRepository teamRepository) {
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        List<Player> players = playerRepository.findByNormalizedNameIsNull();
+        players.forEach(player -> player.setNormalizedName(QueryNormalizer.normalize(player.getName())));
+
+        List<Team> teams = teamRepository.findByNormalizedNameIsNull();
+        teams.forEach(team -> team.setNormalizedName(QueryNormalizer.normalize(team.getName())));
+
+        if (!players.isEmpty() || !teams.isEmpty()) {
+            log.info("Filled normalized names for {} player(s) and {} team(s).", players.size(), teams.size());
+        }
+    }
+}
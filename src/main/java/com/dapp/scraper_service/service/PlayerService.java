@@ -4,8 +4,10 @@ import com.dapp.scraper_service.model.Player;
 import com.dapp.scraper_service.model.PlayerMatchStats;
 import com.dapp.scraper_service.model.dto.PlayerDTO;
 import com.dapp.scraper_service.model.dto.PlayerMatchStatsDTO;
+import com.dapp.scraper_service.repository.PlayerMatchStatsRepository;
 import com.dapp.scraper_service.repository.PlayerRepository;
-import org.jsoup.Jsoup;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import jakarta.persistence.EntityManager;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -13,11 +15,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,17 +39,41 @@ public class PlayerService extends AbstractWebService {
     // URL de la API interna de búsqueda de WhoScored
     private static final String WHOSCORED_SEARCH_URL = BASE_URL + "search/";
 
+    // Tabla de estadísticas: al completarse dejamos de leer la página
+    private static final String STATS_TABLE_SELECTOR = "tbody#player-table-statistics-body";
+
     private final PlayerRepository playerRepository;
+    private final PlayerMatchStatsRepository matchStatsRepository;
+    private final EntityManager entityManager;
+    private final ReadModel readModel;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public PlayerService(PlayerRepository playerRepository) {
+    public PlayerService(PlayerRepository playerRepository, PlayerMatchStatsRepository matchStatsRepository,
+            EntityManager entityManager, ReadModel readModel, TransactionTemplate transactionTemplate) {
         this.playerRepository = playerRepository;
+        this.matchStatsRepository = matchStatsRepository;
+        this.entityManager = entityManager;
+        this.readModel = readModel;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Cacheable("players")
+    // sync: búsquedas iguales que llegan juntas esperan al mismo scrapeo
+    @Cacheable(value = "players", keyGenerator = "normalizedQueryKeyGenerator", sync = true)
     public List<PlayerDTO> getPlayerInfoByName(String playerName) {
-        // 1. Buscar primero en la base de datos
-        List<Player> playersFromDb = playerRepository.findByNameContainingIgnoreCase(playerName);
+        String query = QueryNormalizer.normalize(playerName);
+
+        // 1. Buscar primero en el ReadModel; si ya está cargado, la base no hace falta
+        Optional<List<PlayerDTO>> fromReadModel = readModel.findPlayers(query);
+        if (fromReadModel.isPresent() && !fromReadModel.get().isEmpty()) {
+            log.info("{} player(s) found in read model for query '{}'. Skipping scrape.",
+                    fromReadModel.get().size(), playerName);
+            return fromReadModel.get();
+        }
+
+        // Todavía sin ReadModel: buscar en la base de datos
+        List<Player> playersFromDb = fromReadModel.isPresent() ? List.of()
+                : playerRepository.findByNormalizedNameContaining(query);
         if (!playersFromDb.isEmpty()) {
             log.info("{} player(s) found in database for query '{}'. Skipping scrape.", playersFromDb.size(),
                     playerName);
@@ -49,12 +83,11 @@ public class PlayerService extends AbstractWebService {
                     .collect(Collectors.toList());
         }
 
-        log.info("Player '{}' not found in database. Starting scrape.", playerName);
+        log.info("Player '{}' not found locally. Starting scrape.", playerName);
         try {
             // 1. Scrapear la página de búsqueda. Ahora ScraperAPI manejará la sesión y las
             // cookies.
-            String searchResultHtml = getHtmlContent(WHOSCORED_SEARCH_URL, playerName);
-            Document searchDoc = Jsoup.parse(searchResultHtml);
+            Document searchDoc = getSearchDocument(WHOSCORED_SEARCH_URL, playerName);
             // Usamos el selector que traduce la lógica de Playwright que funcionaba
             Element playerLink = searchDoc
                     .select("div.search-result:has(h2:contains(Jugadores)) tbody tr:nth-child(2) a").first();
@@ -63,29 +96,8 @@ public class PlayerService extends AbstractWebService {
                 throw new IllegalArgumentException("Player with name '" + playerName + "' not found in search.");
             }
 
-            // 2. Scrapear la página de resumen del jugador
-            String playerSummaryUrl = UriComponentsBuilder.fromHttpUrl(BASE_URL).path(playerLink.attr("href"))
-                    .toUriString();
-            String playerSummaryHtml = getHtmlContent(playerSummaryUrl);
-            Document summaryDoc = Jsoup.parse(playerSummaryHtml);
-
-            PlayerDTO playerDTO = scrapePlayerData(summaryDoc);
-
-            // 3. Encontrar el enlace a la página de estadísticas y scrapear esa página
-            Element statsLink = summaryDoc.select("a:contains(Estadísticas del Partido)").first();
-            if (statsLink != null) {
-                String playerStatsUrl = UriComponentsBuilder.fromHttpUrl(BASE_URL).path(statsLink.attr("href"))
-                        .toUriString();
-                String playerStatsHtml = getHtmlContent(playerStatsUrl);
-                Document statsDoc = Jsoup.parse(playerStatsHtml);
-                playerDTO.setMatchStats(scrapePlayerMatchStats(statsDoc));
-            } else {
-                log.warn("Match stats link not found for player '{}'.", playerName);
-                playerDTO.setMatchStats(new ArrayList<>());
-            }
-
-            // Guardar en la base de datos
-            savePlayer(playerDTO);
+            // 2 y 3. Scrapear su página y sus estadísticas, y guardarlo
+            PlayerDTO playerDTO = scrapePlayer(playerLink.attr("href"));
 
             // Devolvemos una lista que contiene el único jugador scrapeado
             return List.of(playerDTO); // Devuelve una lista con el nuevo jugador
@@ -95,6 +107,159 @@ public class PlayerService extends AbstractWebService {
         }
     }
 
+    /**
+     * Jugador a partir del enlace a su página en WhoScored (por ejemplo, el de
+     * su fila en la plantilla de un equipo), sin pasar por la búsqueda por
+     * nombre. Si ya está guardado con ese id, no se scrapea.
+     */
+    public PlayerDTO getPlayerInfoByProfile(String profileUrl) {
+        Long whoScoredId = playerIdFromUrl(profileUrl);
+        if (whoScoredId != null) {
+            Optional<PlayerDTO> stored = readModel.isLoaded() ? readModel.getPlayerByWhoScoredId(whoScoredId)
+                    : transactionTemplate.execute(status -> playerRepository
+                            .findFirstByWhoScoredIdOrderByIdAsc(whoScoredId).map(this::mapPlayerToDTO));
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+        }
+        log.info("Player at '{}' not found locally. Starting scrape.", profileUrl);
+        return scrapePlayer(profileUrl);
+    }
+
+    // Página de resumen, página de estadísticas y guardado en la base
+    private PlayerDTO scrapePlayer(String profileUrl) {
+        // Scrapear la página de resumen del jugador
+        String playerSummaryUrl = UriComponentsBuilder.fromHttpUrl(BASE_URL).path(profileUrl).toUriString();
+        Document summaryDoc = getDocument(playerSummaryUrl);
+
+        PlayerDTO playerDTO = scrapePlayerData(summaryDoc);
+        playerDTO.setWhoScoredId(playerIdFromUrl(profileUrl));
+
+        // Encontrar el enlace a la página de estadísticas y scrapear esa página
+        Element statsLink = summaryDoc.select("a:contains(Estadísticas del Partido)").first();
+        if (statsLink != null) {
+            String playerStatsUrl = UriComponentsBuilder.fromHttpUrl(BASE_URL).path(statsLink.attr("href"))
+                    .toUriString();
+            Document statsDoc = getDocument(playerStatsUrl, STATS_TABLE_SELECTOR);
+            playerDTO.setMatchStats(scrapePlayerMatchStats(statsDoc));
+        } else {
+            log.warn("Match stats link not found for player '{}'.", playerDTO.getName());
+            playerDTO.setMatchStats(new ArrayList<>());
+        }
+
+        // Guardar en la base de datos. Llamada interna: el @Transactional de
+        // savePlayer no aplica, así que abrimos la transacción acá (sin ella, la
+        // colección lazy de estadísticas no se puede cargar fuera de un pedido web)
+        transactionTemplate.executeWithoutResult(status -> savePlayer(playerDTO));
+        return playerDTO;
+    }
+
+    /**
+     * Devuelve el id del jugador en la base. Si todavía no está guardado, lo
+     * scrapea primero con el mismo flujo que {@link #getPlayerInfoByName}.
+     * Solo vale el nombre exacto (normalizado): la búsqueda por "contiene" puede
+     * traer a otro jugador, y entonces se lanza IllegalArgumentException.
+     */
+    public Long resolvePlayerId(String playerName) {
+        String name = playerName.trim();
+        String normalizedName = QueryNormalizer.normalize(name);
+        Player player = playerRepository.findByName(name)
+                .or(() -> playerRepository.findFirstByNormalizedNameOrderByIdAsc(normalizedName))
+                .orElse(null);
+        if (player == null) {
+            PlayerDTO scraped = getPlayerInfoByName(name).stream()
+                    .filter(p -> QueryNormalizer.normalize(p.getName()).equals(normalizedName))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No exact match for player '" + name + "'."));
+            player = playerRepository.findByName(scraped.getName())
+                    .orElseThrow(() -> new IllegalArgumentException("Player '" + name + "' could not be stored."));
+        }
+        return player.getId();
+    }
+
+    // Una página de estadísticas, las más recientes primero, a partir del cursor after
+    @Transactional(readOnly = true)
+    public List<PlayerMatchStatsDTO> getMatchStats(Long playerId, LocalDate from, LocalDate to, MatchCursor after,
+            int limit) {
+        return matchStatsRepository.findPage(playerId, after == null ? null : after.matchDate(),
+                after == null ? null : after.id(), from, to, PageRequest.of(0, limit)).stream()
+                .map(this::mapPageRowToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Recorre las estadísticas fila por fila sin armar la lista completa en memoria
+    @Transactional(readOnly = true)
+    public void streamMatchStats(Long playerId, LocalDate from, LocalDate to, MatchCursor after,
+            Consumer<PlayerMatchStatsDTO> consumer) {
+        try (var stats = matchStatsRepository.streamMatches(playerId, after == null ? null : after.matchDate(),
+                after == null ? null : after.id(), from, to)) {
+            stats.forEach(row -> {
+                consumer.accept(mapPageRowToDTO(row));
+                // Soltamos la entidad para que el contexto de persistencia no crezca
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    /**
+     * Últimos partidos de cada jugador, buscados todos juntos por nombre
+     * normalizado. Los que no están en la base no aparecen en el resultado.
+     * Con el ReadModel cargado no se abre transacción; sin él, la consulta ya
+     * trae las estadísticas con el entity graph.
+     */
+    public Map<String, List<PlayerMatchStatsDTO>> findRecentMatches(Collection<String> normalizedNames,
+            int matches) {
+        Map<String, List<PlayerMatchStatsDTO>> recent = new HashMap<>();
+        if (readModel.isLoaded()) {
+            for (String normalizedName : normalizedNames) {
+                readModel.getPlayer(normalizedName).ifPresent(player -> recent.put(normalizedName,
+                        player.getMatchStats().stream().limit(matches).collect(Collectors.toList())));
+            }
+            return recent;
+        }
+        for (Player player : playerRepository.findByNormalizedNameIn(normalizedNames)) {
+            recent.put(player.getNormalizedName(), player.getMatchStats().stream()
+                    .limit(matches)
+                    .map(this::mapStatsToDTO)
+                    .collect(Collectors.toList()));
+        }
+        return recent;
+    }
+
+    /**
+     * Como {@link #findRecentMatches}, pero por id de WhoScored: así se buscan
+     * los jugadores de una plantilla, que los muestra con otro nombre.
+     */
+    public Map<Long, List<PlayerMatchStatsDTO>> findRecentMatchesByWhoScoredId(Collection<Long> whoScoredIds,
+            int matches) {
+        Map<Long, List<PlayerMatchStatsDTO>> recent = new HashMap<>();
+        if (whoScoredIds.isEmpty()) {
+            return recent;
+        }
+        if (readModel.isLoaded()) {
+            for (Long whoScoredId : whoScoredIds) {
+                readModel.getPlayerByWhoScoredId(whoScoredId).ifPresent(player -> recent.put(whoScoredId,
+                        player.getMatchStats().stream().limit(matches).collect(Collectors.toList())));
+            }
+            return recent;
+        }
+        for (Player player : playerRepository.findByWhoScoredIdIn(whoScoredIds)) {
+            recent.putIfAbsent(player.getWhoScoredId(), player.getMatchStats().stream()
+                    .limit(matches)
+                    .map(this::mapStatsToDTO)
+                    .collect(Collectors.toList()));
+        }
+        return recent;
+    }
+
+    // Todos los jugadores guardados, para cargar el ReadModel
+    @Transactional(readOnly = true)
+    public List<PlayerDTO> findAllPlayers() {
+        return playerRepository.findAllWithMatchStats().stream()
+                .map(this::mapPlayerToDTO)
+                .collect(Collectors.toList());
+    }
+
     private PlayerDTO mapPlayerToDTO(Player player) {
         PlayerDTO dto = new PlayerDTO();
         dto.setName(player.getName());
@@ -104,6 +269,8 @@ public class PlayerService extends AbstractWebService {
         dto.setHeight(player.getHeight());
         dto.setNationality(player.getNationality());
         dto.setPositions(player.getPositions());
+        dto.setWhoScoredId(player.getWhoScoredId());
+        dto.setVersion(player.getVersion());
 
         List<PlayerMatchStatsDTO> statsDTOs = player.getMatchStats().stream()
                 .map(this::mapStatsToDTO)
@@ -123,14 +290,78 @@ public class PlayerService extends AbstractWebService {
                 .rating(stats.getRating()).build();
     }
 
+    // Fila de /player/matches: lleva el cursor para seguir desde ella
+    private PlayerMatchStatsDTO mapPageRowToDTO(PlayerMatchStats stats) {
+        return mapStatsToDTO(stats).withCursor(MatchCursor.of(stats).toString());
+    }
+
     @Transactional
     protected void savePlayer(PlayerDTO playerDTO) {
-        // Usamos orElse para crear uno nuevo si no existe
-        Player player = playerRepository.findByNameContainingIgnoreCase(playerDTO.getName()).stream().findFirst()
+        // Primero por id de WhoScored; si no, por nombre normalizado exacto (con
+        // "contiene", guardar "Pedri" pisaba a "Pedrinho")
+        Player player = Optional.ofNullable(playerDTO.getWhoScoredId())
+                .flatMap(playerRepository::findFirstByWhoScoredIdOrderByIdAsc)
+                .or(() -> playerRepository
+                        .findFirstByNormalizedNameOrderByIdAsc(QueryNormalizer.normalize(playerDTO.getName())))
                 .orElse(new Player());
+        String previousNormalizedName = player.getNormalizedName();
+        copyToEntity(playerDTO, player);
+
+        // Con flush la versión ya viene incrementada aunque estemos dentro de una
+        // transacción más grande; de ella sale el ETag
+        Player saved = playerRepository.saveAndFlush(player);
+        playerDTO.setVersion(saved.getVersion());
+        // Se publica en el ReadModel recién cuando la transacción confirma
+        readModel.playerSaved(previousNormalizedName, playerDTO);
+        log.info("Player '{}' saved or updated in the database.", player.getName());
+    }
+
+    /**
+     * Guarda varios jugadores buscando los que ya existen en una sola consulta
+     * (con sus estadísticas) y haciendo un único flush al final. Lo usa la carga
+     * de páginas archivadas, un lote por llamada.
+     */
+    @Transactional
+    public void savePlayers(List<PlayerDTO> playerDTOs) {
+        Map<String, Player> byNormalizedName = new HashMap<>();
+        List<String> normalizedNames = playerDTOs.stream()
+                .map(dto -> QueryNormalizer.normalize(dto.getName()))
+                .distinct()
+                .toList();
+        for (Player existing : playerRepository.findByNormalizedNameIn(normalizedNames)) {
+            byNormalizedName.putIfAbsent(existing.getNormalizedName(), existing);
+        }
+
+        List<Player> players = new ArrayList<>(playerDTOs.size());
+        List<String> previousNormalizedNames = new ArrayList<>(playerDTOs.size());
+        for (PlayerDTO playerDTO : playerDTOs) {
+            // Si el lote trae dos veces al mismo jugador, la segunda actualiza a la primera
+            Player player = byNormalizedName.computeIfAbsent(QueryNormalizer.normalize(playerDTO.getName()),
+                    key -> new Player());
+            previousNormalizedNames.add(player.getNormalizedName());
+            copyToEntity(playerDTO, player);
+            players.add(player);
+        }
 
+        playerRepository.saveAll(players);
+        playerRepository.flush();
+        for (int i = 0; i < playerDTOs.size(); i++) {
+            playerDTOs.get(i).setVersion(players.get(i).getVersion());
+            readModel.playerSaved(previousNormalizedNames.get(i), playerDTOs.get(i));
+        }
+        log.info("{} player(s) saved or updated in the database.", players.size());
+    }
+
+    private void copyToEntity(PlayerDTO playerDTO, Player player) {
         // Mapear datos del DTO a la Entidad
         player.setName(playerDTO.getName());
+        // Las páginas archivadas no traen el id de WhoScored: se conserva el que había
+        // y el DTO lo recibe, así el ReadModel también lo tiene
+        if (playerDTO.getWhoScoredId() != null) {
+            player.setWhoScoredId(playerDTO.getWhoScoredId());
+        } else {
+            playerDTO.setWhoScoredId(player.getWhoScoredId());
+        }
         player.setCurrentTeam(playerDTO.getCurrentTeam());
         player.setShirtNumber(playerDTO.getShirtNumber());
         player.setAge(playerDTO.getAge());
@@ -138,12 +369,20 @@ public class PlayerService extends AbstractWebService {
         player.setNationality(playerDTO.getNationality());
         player.setPositions(playerDTO.getPositions());
 
-        // Limpiar estadísticas viejas para evitar duplicados
-        player.getMatchStats().clear();
-
-        // Mapear estadísticas del DTO a la Entidad
+        // Reutilizamos las filas de los partidos que ya estaban (misma fecha y rival):
+        // así conservan su id y un cursor "after" sigue valiendo después de volver a
+        // scrapear. Las que ya no aparecen se borran (orphanRemoval).
+        Map<String, PlayerMatchStats> previousStats = new HashMap<>();
+        for (PlayerMatchStats stats : player.getMatchStats()) {
+            previousStats.putIfAbsent(matchKey(stats.getDate(), stats.getOpponent()), stats);
+        }
+        List<PlayerMatchStats> matchStats = new ArrayList<>();
         for (PlayerMatchStatsDTO statsDTO : playerDTO.getMatchStats()) {
-            PlayerMatchStats stats = new PlayerMatchStats();
+            PlayerMatchStats stats = previousStats.remove(matchKey(statsDTO.getDate(), statsDTO.getOpponent()));
+            if (stats == null) {
+                stats = new PlayerMatchStats();
+                stats.setPlayer(player); // Establecer la relación bidireccional
+            }
             stats.setOpponent(statsDTO.getOpponent());
             stats.setScore(statsDTO.getScore());
             stats.setDate(statsDTO.getDate());
@@ -157,15 +396,17 @@ public class PlayerService extends AbstractWebService {
             stats.setPassSuccess(statsDTO.getPassSuccess());
             stats.setAerialsWon(statsDTO.getAerialsWon());
             stats.setRating(statsDTO.getRating());
-            stats.setPlayer(player); // Establecer la relación bidireccional
-            player.getMatchStats().add(stats);
+            matchStats.add(stats);
         }
+        player.getMatchStats().clear();
+        player.getMatchStats().addAll(matchStats);
+    }
 
-        playerRepository.save(player);
-        log.info("Player '{}' saved or updated in the database.", player.getName());
+    private static String matchKey(String date, String opponent) {
+        return date + "|" + opponent;
     }
 
-    private PlayerDTO scrapePlayerData(Document doc) {
+    PlayerDTO scrapePlayerData(Document doc) {
         PlayerDTO player = new PlayerDTO();
         Element playerInfoContainer = doc.select("div.col12-lg-10.col12-m-10.col12-s-9.col12-xs-8").first();
 
@@ -211,9 +452,9 @@ public class PlayerService extends AbstractWebService {
         return NOT_FOUND;
     }
 
-    private List<PlayerMatchStatsDTO> scrapePlayerMatchStats(Document doc) {
+    List<PlayerMatchStatsDTO> scrapePlayerMatchStats(Document doc) {
         List<PlayerMatchStatsDTO> matchStats = new ArrayList<>();
-        Elements statsRows = doc.select("tbody#player-table-statistics-body tr");
+        Elements statsRows = doc.select(STATS_TABLE_SELECTOR + " tr");
 
         for (Element row : statsRows) {
             PlayerMatchStatsDTO match = PlayerMatchStatsDTO.builder()
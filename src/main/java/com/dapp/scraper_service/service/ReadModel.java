@@ -0,0 +1,328 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Proyección en memoria de todos los jugadores y equipos guardados, ya mapeados
+ * a DTO e indexados por nombre normalizado y por los trigramas del nombre (para
+ * las búsquedas por "contiene"). Las lecturas toman la instantánea actual sin
+ * bloquear; cada escritura confirmada arma una copia nueva y la publica de una
+ * vez (copy-on-write). Las listas anidadas y sus elementos son inmutables, y
+ * cada lectura devuelve su propia copia del DTO de arriba.
+ * <p>
+ * Mientras no se haya cargado desde la base, las búsquedas devuelven
+ * {@code Optional.empty()} y los servicios consultan la base como antes.
+ * <p>
+ * Cada escritura confirmada se avisa con un {@link LookupDataChangedEvent},
+ * esté cargado o no, para que las cachés de búsquedas descarten lo viejo.
+ */
+@Component
+public class ReadModel {
+
+    // playerKeys: id de WhoScored -> clave del jugador en players
+    private record Snapshot(NameIndex<PlayerDTO> players, Map<Long, String> playerKeys, NameIndex<TeamDTO> teams) {
+    }
+
+    // previousKey: nombre normalizado que tenía la fila antes de guardar (null si es nueva)
+    private record PlayerChange(String previousKey, PlayerDTO player) {
+    }
+
+    private record TeamChange(String previousKey, TeamDTO team) {
+    }
+
+    private record Put<T>(String previousKey, String key, T value) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    // Serializa la carga inicial y las escrituras; las lecturas no lo usan
+    private final Object writeLock = new Object();
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReadModel(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public int playerCount() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.players().byKey().size();
+    }
+
+    public int teamCount() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.teams().byKey().size();
+    }
+
+    /**
+     * Jugadores cuyo nombre normalizado contiene la búsqueda (ya normalizada).
+     */
+    public Optional<List<PlayerDTO>> findPlayers(String normalizedQuery) {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty()
+                : Optional.of(current.players().matching(normalizedQuery, PlayerDTO::getName).stream()
+                        .map(ReadModel::copyOf).toList());
+    }
+
+    /**
+     * Equipos cuyo nombre normalizado contiene la búsqueda (ya normalizada).
+     */
+    public Optional<List<TeamDTO>> findTeams(String normalizedQuery) {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty()
+                : Optional.of(current.teams().matching(normalizedQuery, TeamDTO::getName).stream()
+                        .map(ReadModel::copyOf).toList());
+    }
+
+    // Búsqueda exacta por nombre normalizado, para resolver muchos jugadores juntos
+    public Optional<PlayerDTO> getPlayer(String normalizedName) {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty()
+                : Optional.ofNullable(current.players().byKey().get(normalizedName)).map(ReadModel::copyOf);
+    }
+
+    // Búsqueda exacta por id de WhoScored, para los jugadores de una plantilla
+    public Optional<PlayerDTO> getPlayerByWhoScoredId(Long whoScoredId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        String key = current.playerKeys().get(whoScoredId);
+        return key == null ? Optional.empty()
+                : Optional.ofNullable(current.players().byKey().get(key)).map(ReadModel::copyOf);
+    }
+
+    /**
+     * Reemplaza la instantánea con lo leído de la base. Los loaders se ejecutan
+     * con el lock tomado, así ninguna escritura confirmada durante la carga se
+     * pierde.
+     */
+    public void load(Supplier<List<PlayerDTO>> playerLoader, Supplier<List<TeamDTO>> teamLoader) {
+        synchronized (writeLock) {
+            Map<String, PlayerDTO> players = new HashMap<>();
+            playerLoader.get().forEach(player -> players.put(QueryNormalizer.normalize(player.getName()),
+                    copyOf(player)));
+            Map<String, TeamDTO> teams = new HashMap<>();
+            teamLoader.get().forEach(team -> teams.put(QueryNormalizer.normalize(team.getName()), copyOf(team)));
+            snapshot = new Snapshot(NameIndex.of(players), playerKeys(players), NameIndex.of(teams));
+        }
+    }
+
+    /**
+     * Publica un jugador guardado. Si la fila se llamaba distinto, la entrada
+     * vieja se quita. Se guarda una copia: el DTO recibido sigue en manos de
+     * quien lo guardó.
+     */
+    public void playerSaved(String previousNormalizedName, PlayerDTO player) {
+        enqueue(new PlayerChange(previousNormalizedName, copyOf(player)));
+    }
+
+    public void teamSaved(String previousNormalizedName, TeamDTO team) {
+        enqueue(new TeamChange(previousNormalizedName, copyOf(team)));
+    }
+
+    // Dentro de una transacción, los cambios se aplican todos juntos después del commit
+    private void enqueue(Object change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(change));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> pending = (List<Object>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Object> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReadModel.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(change);
+    }
+
+    private void apply(List<Object> changes) {
+        applyToSnapshot(changes);
+
+        Set<String> players = new HashSet<>();
+        Set<String> teams = new HashSet<>();
+        for (Object change : changes) {
+            if (change instanceof PlayerChange saved) {
+                addKeys(players, saved.previousKey(), saved.player().getName());
+            } else if (change instanceof TeamChange saved) {
+                addKeys(teams, saved.previousKey(), saved.team().getName());
+            }
+        }
+        eventPublisher.publishEvent(new LookupDataChangedEvent(Set.copyOf(players), Set.copyOf(teams)));
+    }
+
+    private static void addKeys(Set<String> keys, String previousKey, String name) {
+        if (previousKey != null) {
+            keys.add(previousKey);
+        }
+        keys.add(QueryNormalizer.normalize(name));
+    }
+
+    private void applyToSnapshot(List<Object> changes) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current == null) {
+                // Todavía no se cargó: la carga leerá estos cambios de la base
+                return;
+            }
+            List<Put<PlayerDTO>> players = new ArrayList<>();
+            List<Put<TeamDTO>> teams = new ArrayList<>();
+            for (Object change : changes) {
+                if (change instanceof PlayerChange saved) {
+                    players.add(new Put<>(saved.previousKey(), QueryNormalizer.normalize(saved.player().getName()),
+                            saved.player()));
+                } else if (change instanceof TeamChange saved) {
+                    teams.add(new Put<>(saved.previousKey(), QueryNormalizer.normalize(saved.team().getName()),
+                            saved.team()));
+                }
+            }
+            NameIndex<PlayerDTO> playerIndex = players.isEmpty() ? current.players() : current.players().with(players);
+            snapshot = new Snapshot(playerIndex,
+                    players.isEmpty() ? current.playerKeys() : playerKeys(playerIndex.byKey()),
+                    teams.isEmpty() ? current.teams() : current.teams().with(teams));
+        }
+    }
+
+    private static Map<Long, String> playerKeys(Map<String, PlayerDTO> players) {
+        Map<Long, String> keys = new HashMap<>();
+        players.forEach((key, player) -> {
+            if (player.getWhoScoredId() != null) {
+                keys.put(player.getWhoScoredId(), key);
+            }
+        });
+        return Map.copyOf(keys);
+    }
+
+    // Copias con listas inmodificables de elementos inmutables, para que nadie cambie
+    // la instantánea desde afuera. Copiar una que ya es de la instantánea no copia las listas
+    private static PlayerDTO copyOf(PlayerDTO player) {
+        PlayerDTO copy = new PlayerDTO();
+        copy.setName(player.getName());
+        copy.setShirtNumber(player.getShirtNumber());
+        copy.setAge(player.getAge());
+        copy.setHeight(player.getHeight());
+        copy.setPositions(player.getPositions());
+        copy.setNationality(player.getNationality());
+        copy.setCurrentTeam(player.getCurrentTeam());
+        copy.setWhoScoredId(player.getWhoScoredId());
+        copy.setMatchStats(player.getMatchStats() == null ? List.of() : List.copyOf(player.getMatchStats()));
+        copy.setVersion(player.getVersion());
+        return copy;
+    }
+
+    private static TeamDTO copyOf(TeamDTO team) {
+        TeamDTO copy = new TeamDTO();
+        copy.setName(team.getName());
+        copy.setSquad(team.getSquad() == null ? List.of() : List.copyOf(team.getSquad()));
+        copy.setVersion(team.getVersion());
+        return copy;
+    }
+
+    /**
+     * Nombres normalizados -> valor, más los trigramas de cada nombre. Una
+     * búsqueda de tres caracteres o más solo revisa los nombres del trigrama
+     * menos frecuente de la búsqueda; las más cortas recorren todo.
+     */
+    private record NameIndex<T>(Map<String, T> byKey, Map<String, Set<String>> keysByTrigram) {
+
+        private static final int GRAM = 3;
+
+        static <T> NameIndex<T> of(Map<String, T> byKey) {
+            Map<String, Set<String>> keysByTrigram = new HashMap<>();
+            byKey.keySet().forEach(key -> trigrams(key)
+                    .forEach(gram -> keysByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(key)));
+            keysByTrigram.replaceAll((gram, keys) -> Set.copyOf(keys));
+            return new NameIndex<>(Map.copyOf(byKey), Map.copyOf(keysByTrigram));
+        }
+
+        // Copia con los cambios aplicados; solo se rearman los trigramas que tocan
+        NameIndex<T> with(List<Put<T>> puts) {
+            Map<String, T> entries = new HashMap<>(byKey);
+            Map<String, Set<String>> touched = new HashMap<>();
+            for (Put<T> put : puts) {
+                String previousKey = put.previousKey();
+                if (previousKey != null && !previousKey.equals(put.key()) && entries.remove(previousKey) != null) {
+                    trigrams(previousKey).forEach(gram -> touched(touched, gram).remove(previousKey));
+                }
+                if (entries.put(put.key(), put.value()) == null) {
+                    trigrams(put.key()).forEach(gram -> touched(touched, gram).add(put.key()));
+                }
+            }
+            Map<String, Set<String>> grams = new HashMap<>(keysByTrigram);
+            touched.forEach((gram, keys) -> {
+                if (keys.isEmpty()) {
+                    grams.remove(gram);
+                } else {
+                    grams.put(gram, Set.copyOf(keys));
+                }
+            });
+            return new NameIndex<>(Map.copyOf(entries), Map.copyOf(grams));
+        }
+
+        private Set<String> touched(Map<String, Set<String>> touched, String gram) {
+            return touched.computeIfAbsent(gram, g -> new HashSet<>(keysByTrigram.getOrDefault(g, Set.of())));
+        }
+
+        List<T> matching(String normalizedQuery, Function<T, String> nameOf) {
+            T exact = byKey.get(normalizedQuery);
+            Collection<String> candidates = byKey.keySet();
+            for (String gram : trigrams(normalizedQuery)) {
+                Set<String> keys = keysByTrigram.getOrDefault(gram, Set.of());
+                if (keys.size() < candidates.size()) {
+                    candidates = keys;
+                }
+            }
+            List<T> result = new ArrayList<>();
+            for (String key : candidates) {
+                if (key.contains(normalizedQuery)) {
+                    result.add(byKey.get(key));
+                }
+            }
+            if (result.size() > 1) {
+                // La coincidencia exacta primero, después por nombre
+                result.sort(Comparator.comparing((T item) -> item != exact).thenComparing(nameOf));
+            }
+            return result;
+        }
+
+        private static Set<String> trigrams(String key) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= key.length(); i++) {
+                grams.add(key.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+}
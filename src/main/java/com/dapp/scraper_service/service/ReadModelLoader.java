@@ -0,0 +1,46 @@
+package com.dapp.scraper_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Arma el {@link ReadModel} con todo lo guardado en la base. Corre después de
+ * completar los nombres normalizados y antes de cargar páginas archivadas, que
+ * ya se publican en el ReadModel a medida que se confirman.
+ */
+@Component
+@Order(1)
+public class ReadModelLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadModelLoader.class);
+
+    private final ReadModel readModel;
+    private final PlayerService playerService;
+    private final TeamService teamService;
+
+    // Se revisa en tiempo de ejecución para que funcione igual con el contexto procesado AOT
+    @Value("${scraper.read-model.enabled:true}")
+    private boolean enabled;
+
+    public ReadModelLoader(ReadModel readModel, PlayerService playerService, TeamService teamService) {
+        this.readModel = readModel;
+        this.playerService = playerService;
+        this.teamService = teamService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        readModel.load(playerService::findAllPlayers, teamService::findAllTeams);
+        log.info("Read model loaded: {} player(s) and {} team(s) in {} ms.", readModel.playerCount(),
+                readModel.teamCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
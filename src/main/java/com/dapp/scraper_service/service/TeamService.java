@@ -1,7 +1,6 @@
 // En tu proyecto scraper-service
 package com.dapp.scraper_service.service; // O el paquete que uses
 
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
@@ -10,15 +9,19 @@ import com.dapp.scraper_service.model.TeamPlayer;
 import com.dapp.scraper_service.model.dto.TeamDTO;
 import com.dapp.scraper_service.model.dto.TeamPlayerDTO;
 import com.dapp.scraper_service.repository.TeamRepository;
+import com.dapp.scraper_service.util.QueryNormalizer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,17 +35,35 @@ public class TeamService extends AbstractWebService {
 
     private static final String WHOSCORED_SEARCH_URL = BASE_URL + "search/";
 
+    private static final String SQUAD_TABLE_SELECTOR = "tbody#player-table-statistics-body";
+
     private final TeamRepository teamRepository;
+    private final ReadModel readModel;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public TeamService(TeamRepository teamRepository) {
+    public TeamService(TeamRepository teamRepository, ReadModel readModel, TransactionTemplate transactionTemplate) {
         this.teamRepository = teamRepository;
+        this.readModel = readModel;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Cacheable("teams")
+    // sync: búsquedas iguales que llegan juntas esperan al mismo scrapeo
+    @Cacheable(value = "teams", keyGenerator = "normalizedQueryKeyGenerator", sync = true)
     public List<TeamDTO> getTeamInfoByName(String teamName) {
-        // 1. Buscar primero en la base de datos
-        List<Team> teamsFromDb = teamRepository.findByNameContainingIgnoreCase(teamName);
+        String query = QueryNormalizer.normalize(teamName);
+
+        // 1. Buscar primero en el ReadModel; si ya está cargado, la base no hace falta
+        Optional<List<TeamDTO>> fromReadModel = readModel.findTeams(query);
+        if (fromReadModel.isPresent() && !fromReadModel.get().isEmpty()) {
+            log.info("{} team(s) found in read model for query '{}'. Skipping scrape.", fromReadModel.get().size(),
+                    teamName);
+            return fromReadModel.get();
+        }
+
+        // Todavía sin ReadModel: buscar en la base de datos
+        List<Team> teamsFromDb = fromReadModel.isPresent() ? List.of()
+                : teamRepository.findByNormalizedNameContaining(query);
         if (!teamsFromDb.isEmpty()) {
             log.info("{} team(s) found in database for query '{}'. Skipping scrape.", teamsFromDb.size(), teamName);
             // Convertir la lista de Entidades a una lista de DTOs y devolverla
@@ -51,11 +72,10 @@ public class TeamService extends AbstractWebService {
                     .collect(Collectors.toList());
         }
 
-        log.info("Team '{}' not found in database. Starting scrape.", teamName);
+        log.info("Team '{}' not found locally. Starting scrape.", teamName);
         try {
             // 1. Buscar el equipo para obtener su URL
-            String searchPageHtml = getHtmlContent(WHOSCORED_SEARCH_URL, teamName);
-            Document searchDoc = Jsoup.parse(searchPageHtml);
+            Document searchDoc = getSearchDocument(WHOSCORED_SEARCH_URL, teamName);
 
             // Selector de JSoup para encontrar el enlace del equipo
             Element teamLink = searchDoc.select("div.search-result:has(h2:contains(Equipos)) tbody tr:nth-child(2) a")
@@ -67,16 +87,14 @@ public class TeamService extends AbstractWebService {
             String teamPageUrl = UriComponentsBuilder.fromHttpUrl(BASE_URL).path(teamLink.attr("href"))
                     .toUriString();
 
-            // 2. Scrapear la página del equipo
-            String teamPageHtml = getHtmlContent(teamPageUrl);
-            Document teamDoc = Jsoup.parse(teamPageHtml);
+            // 2. Scrapear la página del equipo (el encabezado aparece antes que la tabla)
+            Document teamDoc = getDocument(teamPageUrl, SQUAD_TABLE_SELECTOR);
 
-            TeamDTO teamDTO = new TeamDTO();
-            teamDTO.setName(teamDoc.select("h1.team-header").text());
-            teamDTO.setSquad(scrapeSquadData(teamDoc));
+            TeamDTO teamDTO = scrapeTeamData(teamDoc);
 
-            // Guardar en la base de datos
-            saveTeam(teamDTO);
+            // Guardar en la base de datos. Llamada interna: el @Transactional de
+            // saveTeam no aplica, así que abrimos la transacción acá
+            transactionTemplate.executeWithoutResult(status -> saveTeam(teamDTO));
 
             return List.of(teamDTO); // Devuelve una lista con el nuevo equipo
 
@@ -86,9 +104,18 @@ public class TeamService extends AbstractWebService {
         }
     }
 
+    // Todos los equipos guardados, para cargar el ReadModel
+    @Transactional(readOnly = true)
+    public List<TeamDTO> findAllTeams() {
+        return teamRepository.findAllWithSquad().stream()
+                .map(this::mapTeamToDTO)
+                .collect(Collectors.toList());
+    }
+
     private TeamDTO mapTeamToDTO(Team team) {
         TeamDTO dto = new TeamDTO();
         dto.setName(team.getName());
+        dto.setVersion(team.getVersion());
 
         List<TeamPlayerDTO> squadDTO = team.getSquad().stream()
                 .map(this::mapTeamPlayerToDTO)
@@ -101,6 +128,7 @@ public class TeamService extends AbstractWebService {
     private TeamPlayerDTO mapTeamPlayerToDTO(TeamPlayer player) {
         return TeamPlayerDTO.builder()
                 .name(player.getName())
+                .profileUrl(player.getProfileUrl())
                 .age(player.getAge())
                 .position(player.getPosition())
                 .height(player.getHeight())
@@ -121,9 +149,56 @@ public class TeamService extends AbstractWebService {
 
     @Transactional
     protected void saveTeam(TeamDTO teamDTO) {
-        Team team = teamRepository.findByNameContainingIgnoreCase(teamDTO.getName()).stream().findFirst()
+        // Nombre normalizado exacto: con "contiene", un equipo podía pisar a otro
+        Team team = teamRepository.findFirstByNormalizedNameOrderByIdAsc(QueryNormalizer.normalize(teamDTO.getName()))
                 .orElse(new Team());
+        String previousNormalizedName = team.getNormalizedName();
+        copyToEntity(teamDTO, team);
+
+        // Con flush la versión ya viene incrementada aunque estemos dentro de una
+        // transacción más grande; de ella sale el ETag
+        Team saved = teamRepository.saveAndFlush(team);
+        teamDTO.setVersion(saved.getVersion());
+        // Se publica en el ReadModel recién cuando la transacción confirma
+        readModel.teamSaved(previousNormalizedName, teamDTO);
+        log.info("Team '{}' saved or updated in the database.", team.getName());
+    }
 
+    /**
+     * Guarda varios equipos buscando los que ya existen en una sola consulta y
+     * haciendo un único flush al final. Lo usa la carga de páginas archivadas.
+     */
+    @Transactional
+    public void saveTeams(List<TeamDTO> teamDTOs) {
+        Map<String, Team> byNormalizedName = new HashMap<>();
+        List<String> normalizedNames = teamDTOs.stream()
+                .map(dto -> QueryNormalizer.normalize(dto.getName()))
+                .distinct()
+                .toList();
+        for (Team existing : teamRepository.findByNormalizedNameIn(normalizedNames)) {
+            byNormalizedName.putIfAbsent(existing.getNormalizedName(), existing);
+        }
+
+        List<Team> teams = new ArrayList<>(teamDTOs.size());
+        List<String> previousNormalizedNames = new ArrayList<>(teamDTOs.size());
+        for (TeamDTO teamDTO : teamDTOs) {
+            Team team = byNormalizedName.computeIfAbsent(QueryNormalizer.normalize(teamDTO.getName()),
+                    key -> new Team());
+            previousNormalizedNames.add(team.getNormalizedName());
+            copyToEntity(teamDTO, team);
+            teams.add(team);
+        }
+
+        teamRepository.saveAll(teams);
+        teamRepository.flush();
+        for (int i = 0; i < teamDTOs.size(); i++) {
+            teamDTOs.get(i).setVersion(teams.get(i).getVersion());
+            readModel.teamSaved(previousNormalizedNames.get(i), teamDTOs.get(i));
+        }
+        log.info("{} team(s) saved or updated in the database.", teams.size());
+    }
+
+    private void copyToEntity(TeamDTO teamDTO, Team team) {
         team.setName(teamDTO.getName());
 
         // Limpiar plantilla vieja para evitar duplicados
@@ -133,6 +208,7 @@ public class TeamService extends AbstractWebService {
         for (TeamPlayerDTO playerDTO : teamDTO.getSquad()) {
             TeamPlayer player = new TeamPlayer();
             player.setName(playerDTO.getName());
+            player.setProfileUrl(playerDTO.getProfileUrl());
             player.setAge(playerDTO.getAge());
             player.setPosition(playerDTO.getPosition());
             player.setHeight(playerDTO.getHeight());
@@ -151,18 +227,24 @@ public class TeamService extends AbstractWebService {
             player.setTeam(team); // Establecer la relación bidireccional
             team.getSquad().add(player);
         }
+    }
 
-        teamRepository.save(team);
-        log.info("Team '{}' saved or updated in the database.", team.getName());
+    TeamDTO scrapeTeamData(Document doc) {
+        TeamDTO teamDTO = new TeamDTO();
+        teamDTO.setName(doc.select("h1.team-header").text());
+        teamDTO.setSquad(scrapeSquadData(doc));
+        return teamDTO;
     }
 
-    private List<TeamPlayerDTO> scrapeSquadData(Document doc) {
+    List<TeamPlayerDTO> scrapeSquadData(Document doc) {
         List<TeamPlayerDTO> squad = new ArrayList<>();
-        Elements playerRows = doc.select("tbody#player-table-statistics-body tr");
+        Elements playerRows = doc.select(SQUAD_TABLE_SELECTOR + " tr");
 
         for (Element row : playerRows) {
+            String profileUrl = row.select("td:nth-child(1) a.player-link").attr("href");
             TeamPlayerDTO player = TeamPlayerDTO.builder()
                     .name(row.select("td:nth-child(1) a.player-link span.iconize-icon-left").text())
+                    .profileUrl(profileUrl.isBlank() ? null : profileUrl)
                     .age(row.select("td:nth-child(1) span.player-meta-data:nth-of-type(1)").text())
                     .position(row.select("td:nth-child(1) span.player-meta-data:nth-of-type(2)").text()
                             .replace(",", "").trim())
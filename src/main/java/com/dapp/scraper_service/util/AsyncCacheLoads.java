@@ -0,0 +1,43 @@
+package com.dapp.scraper_service.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Carga de una caché asíncrona de Caffeine en el hilo que la pide, recién
+ * después de que su future quedó en el mapa. Así la carga nunca corre adentro
+ * del compute de Caffeine (puede terminar en un guardado que vuelve a tocar la
+ * caché) y una invalidación que llega mientras tanto siempre la encuentra y la
+ * descarta. Los pedidos iguales que llegan juntos esperan la misma carga.
+ */
+public final class AsyncCacheLoads {
+
+    private AsyncCacheLoads() {
+    }
+
+    public static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        // El compute solo deja el future vacío; hits y misses cuentan igual en las estadísticas
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                // Caffeine saca del mapa los futures que terminan con error
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
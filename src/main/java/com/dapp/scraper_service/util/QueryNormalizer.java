@@ -0,0 +1,36 @@
+package com.dapp.scraper_service.util;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza nombres y búsquedas para que "Müller", " muller " y "M%C3%BCller"
+ * caigan en la misma entrada de caché y en la misma búsqueda en la base:
+ * decodifica, recorta, colapsa espacios, pasa a minúsculas y quita acentos.
+ */
+public final class QueryNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private QueryNormalizer() {
+    }
+
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String decoded;
+        try {
+            decoded = URLDecoder.decode(query, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // Un '%' suelto no es una secuencia válida: usamos el texto tal cual
+            decoded = query;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(decoded, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
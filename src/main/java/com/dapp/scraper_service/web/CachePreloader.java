@@ -0,0 +1,88 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.repository.LookupQueryRepository;
+import com.dapp.scraper_service.service.AccessCountTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Al arrancar, llena la caché de respuestas serializadas (y de paso las cachés
+ * "players" y "teams") con las búsquedas más pedidas según los contadores
+ * guardados en la base. Usa las mismas claves que los pedidos reales, en JSON,
+ * que es el formato por defecto. Corre en segundo plano para no demorar el
+ * primer pedido.
+ * <p>
+ * Solo tiene sentido con una base que sobreviva a los reinicios (la de archivo
+ * de dev, o la que se configure en producción con SCRAPER_DATASOURCE_URL): con
+ * una base en memoria no hay contadores que leer y la precarga no hace nada.
+ */
+@Component
+public class CachePreloader {
+
+    private static final Logger log = LoggerFactory.getLogger(CachePreloader.class);
+
+    private final LookupQueryRepository lookupQueryRepository;
+    private final LookupResponses lookupResponses;
+    private final DataSource dataSource;
+
+    @Value("${scraper.cache.preload.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scraper.cache.preload.players:200}")
+    private int playerCount;
+
+    @Value("${scraper.cache.preload.teams:50}")
+    private int teamCount;
+
+    public CachePreloader(LookupQueryRepository lookupQueryRepository, LookupResponses lookupResponses,
+            DataSource dataSource) {
+        this.lookupQueryRepository = lookupQueryRepository;
+        this.lookupResponses = lookupResponses;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("cache-preload").start(this::warm);
+    }
+
+    private void warm() {
+        // Abre una conexión para ver la URL: por eso se revisa acá y no en preload()
+        if (EmbeddedDatabaseConnection.isEmbedded(dataSource)) {
+            log.info("Cache preload skipped: the database is in memory, so there are no recorded queries.");
+            return;
+        }
+        long start = System.nanoTime();
+        int players = warm(AccessCountTracker.PLAYER, playerCount, lookupResponses::player);
+        int teams = warm(AccessCountTracker.TEAM, teamCount, lookupResponses::team);
+        log.info("Cache preload finished: {} player and {} team queries in {} ms.", players, teams,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int warm(String type, int count, BiConsumer<ResponseFormat, String> lookup) {
+        int warmed = 0;
+        List<String> queries = lookupQueryRepository.findMostRequested(type, PageRequest.of(0, count));
+        for (String query : queries) {
+            try {
+                lookup.accept(ResponseFormat.JSON, query);
+                warmed++;
+            } catch (Exception e) {
+                log.warn("Could not preload {} '{}': {}", type, query, e.getMessage());
+            }
+        }
+        return warmed;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.model.dto.LineupDTO;
+import com.dapp.scraper_service.service.LineupService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/scrape")
+public class LineupController {
+
+    private static final int MAX_MATCHES = 50;
+
+    private final LineupService lineupService;
+
+    public LineupController(LineupService lineupService) {
+        this.lineupService = lineupService;
+    }
+
+    // Plantilla del equipo con los últimos partidos de cada jugador. Si "pending"
+    // no está vacío, repetir el pedido en unos segundos completa esos jugadores; los
+    // de "failed" no se pudieron scrapear.
+    @GetMapping("/team/lineup")
+    public ResponseEntity<LineupDTO> getLineup(@RequestParam("teamName") String teamName,
+            @RequestParam(value = "matches", defaultValue = "5") int matches) {
+        if (matches < 1 || matches > MAX_MATCHES) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            return ResponseEntity.ok(lineupService.getLineup(teamName, matches));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import com.dapp.scraper_service.service.PlayerService;
+import com.dapp.scraper_service.service.TeamService;
+import com.dapp.scraper_service.web.SerializedResponseCache.SerializedResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Respuestas de /player y /team a través de la caché de respuestas
+ * serializadas. Las usan el controlador y la precarga, así ambos llenan las
+ * mismas claves.
+ */
+@Component
+public class LookupResponses {
+
+    private final PlayerService playerService;
+    private final TeamService teamService;
+    private final SerializedResponseCache responseCache;
+
+    public LookupResponses(PlayerService playerService, TeamService teamService,
+            SerializedResponseCache responseCache) {
+        this.playerService = playerService;
+        this.teamService = teamService;
+        this.responseCache = responseCache;
+    }
+
+    public SerializedResponse player(ResponseFormat format, String playerName) {
+        return responseCache.get(format, "player", playerName,
+                () -> playerService.getPlayerInfoByName(playerName),
+                PlayerDTO::getName, (PlayerDTO dto) -> dto.getName() + ":" + dto.getVersion());
+    }
+
+    public SerializedResponse team(ResponseFormat format, String teamName) {
+        return responseCache.get(format, "team", teamName,
+                () -> teamService.getTeamInfoByName(teamName),
+                TeamDTO::getName, (TeamDTO dto) -> dto.getName() + ":" + dto.getVersion());
+    }
+}
@@ -0,0 +1,152 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.model.dto.MatchStatsPageDTO;
+import com.dapp.scraper_service.model.dto.PlayerMatchStatsDTO;
+import com.dapp.scraper_service.service.MatchCursor;
+import com.dapp.scraper_service.service.PlayerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/scrape")
+public class MatchStatsController {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 200;
+
+    // Campos que se pueden pedir con el parámetro "fields". El cursor va siempre
+    private static final Map<String, Function<PlayerMatchStatsDTO, String>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("cursor", PlayerMatchStatsDTO::getCursor);
+        FIELDS.put("opponent", PlayerMatchStatsDTO::getOpponent);
+        FIELDS.put("score", PlayerMatchStatsDTO::getScore);
+        FIELDS.put("date", PlayerMatchStatsDTO::getDate);
+        FIELDS.put("position", PlayerMatchStatsDTO::getPosition);
+        FIELDS.put("minsPlayed", PlayerMatchStatsDTO::getMinsPlayed);
+        FIELDS.put("goals", PlayerMatchStatsDTO::getGoals);
+        FIELDS.put("assists", PlayerMatchStatsDTO::getAssists);
+        FIELDS.put("yellowCards", PlayerMatchStatsDTO::getYellowCards);
+        FIELDS.put("redCards", PlayerMatchStatsDTO::getRedCards);
+        FIELDS.put("shots", PlayerMatchStatsDTO::getShots);
+        FIELDS.put("passSuccess", PlayerMatchStatsDTO::getPassSuccess);
+        FIELDS.put("aerialsWon", PlayerMatchStatsDTO::getAerialsWon);
+        FIELDS.put("rating", PlayerMatchStatsDTO::getRating);
+    }
+
+    private final PlayerService playerService;
+    private final ObjectMapper objectMapper;
+
+    public MatchStatsController(PlayerService playerService, ObjectMapper objectMapper) {
+        this.playerService = playerService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Las filas van de la más reciente a la más vieja. El cursor es la fecha y el
+    // id de la última fila devuelta (ver MatchCursor); cada fila trae el suyo, así
+    // también se puede seguir un NDJSON cortado. Volver a scrapear al jugador
+    // conserva los ids de los partidos que siguen apareciendo (ver savePlayer); si
+    // el partido del cursor desapareció, la página sigue desde la posición que tenía.
+    // Smile y CBOR los escriben los conversores de Jackson que Spring MVC registra solo
+    @GetMapping(value = "/player/matches", produces = { MediaType.APPLICATION_JSON_VALUE, ResponseFormat.SMILE_VALUE,
+            ResponseFormat.CBOR_VALUE })
+    public ResponseEntity<MatchStatsPageDTO> getMatches(@RequestParam("playerName") String playerName,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        MatchCursor cursor = parseCursor(after);
+        if (limit < 1 || limit > MAX_LIMIT || !validFields(fields) || (after != null && cursor == null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            Long playerId = playerService.resolvePlayerId(playerName);
+            List<PlayerMatchStatsDTO> stats = playerService.getMatchStats(playerId, from, to, cursor, limit);
+
+            List<Object> items = new ArrayList<>(stats.size());
+            for (PlayerMatchStatsDTO row : stats) {
+                items.add(select(row, fields));
+            }
+            String nextCursor = stats.size() == limit ? stats.get(stats.size() - 1).getCursor() : null;
+            return ResponseEntity.ok(new MatchStatsPageDTO(items, nextCursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Mismo recurso en NDJSON: una línea por partido, escrita a medida que se lee
+    @GetMapping(value = "/player/matches", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMatches(@RequestParam("playerName") String playerName,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        MatchCursor cursor = parseCursor(after);
+        if (!validFields(fields) || (after != null && cursor == null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        Long playerId;
+        try {
+            playerId = playerService.resolvePlayerId(playerName);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+
+        StreamingResponseBody body = out -> playerService.streamMatchStats(playerId, from, to, cursor, row -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(select(row, fields)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // null si no vino o no es válido
+    private static MatchCursor parseCursor(String after) {
+        try {
+            return after == null ? null : MatchCursor.parse(after);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean validFields(List<String> fields) {
+        return fields == null || FIELDS.keySet().containsAll(fields);
+    }
+
+    private Object select(PlayerMatchStatsDTO row, List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return row;
+        }
+        Map<String, String> selected = new LinkedHashMap<>();
+        selected.put("cursor", row.getCursor());
+        for (String field : fields) {
+            selected.put(field, FIELDS.get(field).apply(row));
+        }
+        return selected;
+    }
+}
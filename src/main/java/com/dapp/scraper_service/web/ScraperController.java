@@ -1,34 +1,42 @@
 package com.dapp.scraper_service.web;
 
-import com.dapp.scraper_service.model.dto.PlayerDTO;
-import java.util.List;
-import com.dapp.scraper_service.model.dto.TeamDTO;
-import com.dapp.scraper_service.service.PlayerService;
-import com.dapp.scraper_service.service.TeamService;
+import com.dapp.scraper_service.service.AccessCountTracker;
+import com.dapp.scraper_service.web.SerializedResponseCache.SerializedResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/scrape")
 public class ScraperController {
 
-    private final PlayerService playerService;
-    private final TeamService teamService;
+    private final LookupResponses lookupResponses;
+    private final AccessCountTracker accessCounts;
 
-    public ScraperController(PlayerService playerService, TeamService teamService) {
-        this.playerService = playerService;
-        this.teamService = teamService;
+    public ScraperController(LookupResponses lookupResponses, AccessCountTracker accessCounts) {
+        this.lookupResponses = lookupResponses;
+        this.accessCounts = accessCounts;
     }
 
-    @GetMapping("/player")
-    public ResponseEntity<List<PlayerDTO>> scrapePlayer(@RequestParam("playerName") String playerName) {
+    @GetMapping(value = "/player", produces = { MediaType.APPLICATION_JSON_VALUE, ResponseFormat.SMILE_VALUE,
+            ResponseFormat.CBOR_VALUE })
+    public ResponseEntity<byte[]> scrapePlayer(@RequestParam("playerName") String playerName,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
         try {
-            List<PlayerDTO> player = playerService.getPlayerInfoByName(playerName);
-            return ResponseEntity.ok(player);
+            SerializedResponse player = lookupResponses.player(ResponseFormat.negotiate(accept), playerName);
+            accessCounts.recordPlayerQuery(playerName);
+            return write(player, acceptEncoding, request);
         } catch (IllegalArgumentException e) {
             // Si el PlayerService lanza IllegalArgumentException (ej. jugador no
             // encontrado)
@@ -39,11 +47,16 @@ public class ScraperController {
         }
     }
 
-    @GetMapping("/team")
-    public ResponseEntity<List<TeamDTO>> scrapeTeam(@RequestParam("teamName") String teamName) {
+    @GetMapping(value = "/team", produces = { MediaType.APPLICATION_JSON_VALUE, ResponseFormat.SMILE_VALUE,
+            ResponseFormat.CBOR_VALUE })
+    public ResponseEntity<byte[]> scrapeTeam(@RequestParam("teamName") String teamName,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
         try {
-            List<TeamDTO> team = teamService.getTeamInfoByName(teamName);
-            return ResponseEntity.ok(team);
+            SerializedResponse team = lookupResponses.team(ResponseFormat.negotiate(accept), teamName);
+            accessCounts.recordTeamQuery(teamName);
+            return write(team, acceptEncoding, request);
         } catch (IllegalArgumentException e) {
             // Si el TeamService lanza IllegalArgumentException (ej. equipo no encontrado)
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -52,4 +65,57 @@ public class ScraperController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<byte[]> write(SerializedResponse response, String acceptEncoding, WebRequest request) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? response.gzipEtag() : response.etag();
+        // If-None-Match coincide con la representación elegida: 304 sin cuerpo
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(response.format().mediaType());
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzippedBody());
+        }
+        return builder.body(response.body());
+    }
+
+    // gzip (o x-gzip) con q > 0, o "*" con q > 0 si gzip no aparece; "gzip;q=0" lo rechaza
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return quality > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 1 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // q inválido: como si la codificación no fuera aceptable
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
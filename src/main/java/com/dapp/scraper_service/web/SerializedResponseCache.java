@@ -0,0 +1,136 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.service.LookupDataChangedEvent;
+import com.dapp.scraper_service.util.AsyncCacheLoads;
+import com.dapp.scraper_service.util.QueryNormalizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Guarda las respuestas ya serializadas (JSON, Smile o CBOR), tal cual y
+ * comprimidas con gzip, junto con un ETag calculado a partir de la versión de
+ * cada fila. Un acierto se responde copiando los bytes, sin mapear entidades,
+ * pasar por Jackson ni descomprimir. Cuando se confirma un guardado se descartan las respuestas que lo
+ * incluían o que ahora deberían incluirlo.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private final Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+    private final AsyncCache<String, SerializedResponse> cache;
+
+    public SerializedResponseCache(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder mapperBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${scraper.response-cache.maximum-weight:32MB}") DataSize maximumWeight,
+            @Value("${scraper.response-cache.expire-after-write:6h}") Duration expireAfterWrite) {
+        // Misma configuración de Jackson que el JSON, cambiando solo el formato de salida
+        mappers.put(ResponseFormat.JSON, objectMapper);
+        mappers.put(ResponseFormat.SMILE, mapperBuilder.factory(new SmileFactory()).build());
+        mappers.put(ResponseFormat.CBOR, mapperBuilder.factory(new CBORFactory()).build());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String key, SerializedResponse response) -> key.length() + response.body().length
+                        + response.gzippedBody().length)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "responses");
+    }
+
+    public <T> SerializedResponse get(ResponseFormat format, String type, String query, Supplier<List<T>> loader,
+            Function<T, String> nameOf, Function<T, String> versionTag) {
+        String key = format + ":" + type + ":" + QueryNormalizer.normalize(query);
+        // Fuera del compute: si la carga termina en un scrapeo que guarda, evict() puede
+        // tocar esta misma caché
+        return AsyncCacheLoads.getOrLoad(cache, key, () -> serialize(format, loader.get(), nameOf, versionTag));
+    }
+
+    // Descarta las respuestas afectadas por un guardado confirmado, incluidas las
+    // que se están armando: pueden haber leído los datos de antes del guardado
+    public void evict(LookupDataChangedEvent event) {
+        cache.asMap().entrySet().removeIf(entry -> {
+            // format:type:búsqueda normalizada
+            String[] parts = entry.getKey().split(":", 3);
+            Set<String> changed = switch (parts[1]) {
+                case "player" -> event.players();
+                case "team" -> event.teams();
+                default -> Set.of();
+            };
+            if (changed.isEmpty()) {
+                return false;
+            }
+            CompletableFuture<SerializedResponse> response = entry.getValue();
+            List<String> names = response.isDone() && !response.isCompletedExceptionally()
+                    ? response.join().names().stream().map(QueryNormalizer::normalize).toList()
+                    : List.of();
+            return LookupDataChangedEvent.affects(changed, parts[2], names);
+        });
+    }
+
+    private <T> SerializedResponse serialize(ResponseFormat format, List<T> body, Function<T, String> nameOf,
+            Function<T, String> versionTag) {
+        try {
+            byte[] plain = mappers.get(format).writeValueAsBytes(body);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(plain);
+            }
+            List<String> names = body.stream().map(nameOf).toList();
+            return new SerializedResponse(format, plain, buffer.toByteArray(), etag(format, body, versionTag), names);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize response", e);
+        }
+    }
+
+    private <T> String etag(ResponseFormat format, List<T> body, Function<T, String> versionTag) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Cada representación tiene su propio ETag fuerte
+            digest.update(format.name().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            for (T item : body) {
+                digest.update(versionTag.apply(item).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // names: nombres de los jugadores/equipos incluidos, para contar accesos
+    public record SerializedResponse(ResponseFormat format, byte[] body, byte[] gzippedBody, String etag,
+            List<String> names) {
+
+        // Los bytes comprimidos son otra representación: su ETag fuerte no puede ser el mismo
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+}
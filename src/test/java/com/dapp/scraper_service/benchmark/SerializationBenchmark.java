@@ -0,0 +1,124 @@
+package com.dapp.scraper_service.benchmark;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.PlayerMatchStatsDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import com.dapp.scraper_service.model.dto.TeamPlayerDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compara JSON, Smile y CBOR para los dos casos más pesados: la plantilla
+ * completa de un equipo y un jugador con un historial largo de partidos.
+ * Mide tamaño (crudo y con gzip) y tiempo medio de codificar y decodificar.
+ * <p>
+ * Se corre con {@code ./gradlew serializationBenchmark}.
+ */
+public class SerializationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("JSON", new ObjectMapper());
+        mappers.put("Smile", new ObjectMapper(new SmileFactory()));
+        mappers.put("CBOR", new ObjectMapper(new CBORFactory()));
+
+        run("Full squad (1 team, 30 players)", List.of(squad(30)), new TypeReference<List<TeamDTO>>() {
+        }, mappers);
+        run("Long match history (1 player, 500 matches)", List.of(player(500)),
+                new TypeReference<List<PlayerDTO>>() {
+                }, mappers);
+    }
+
+    private static <T> void run(String title, List<T> payload, TypeReference<List<T>> type,
+            Map<String, ObjectMapper> mappers) throws IOException {
+        System.out.println();
+        System.out.println("=== " + title + " ===");
+        System.out.printf("%-6s %10s %10s %12s %12s%n", "Format", "Bytes", "Gzipped", "Encode (us)", "Decode (us)");
+
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] encoded = mapper.writeValueAsBytes(payload);
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                mapper.readValue(mapper.writeValueAsBytes(payload), type);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                mapper.writeValueAsBytes(payload);
+            }
+            double encodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+
+            start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                mapper.readValue(encoded, type);
+            }
+            double decodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+
+            System.out.printf("%-6s %10d %10d %12.1f %12.1f%n", entry.getKey(), encoded.length, gzip(encoded).length,
+                    encodeMicros, decodeMicros);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static TeamDTO squad(int players) {
+        List<TeamPlayerDTO> squad = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            squad.add(TeamPlayerDTO.builder()
+                    .name("Jugador " + i).age(String.valueOf(18 + i % 17)).position("DC")
+                    .height("18" + i % 10).weight("7" + i % 10).apps(String.valueOf(i % 38))
+                    .minsPlayed(String.valueOf(90 * (i % 38))).goals(String.valueOf(i % 7))
+                    .assists(String.valueOf(i % 5)).yellowCards(String.valueOf(i % 4)).redCards("0")
+                    .shotsPerGame("1." + i % 10).passSuccess("8" + i % 10 + ".4").aerialsWonPerGame("0." + i % 10)
+                    .manOfTheMatch(String.valueOf(i % 3)).rating("6.9" + i % 10)
+                    .build());
+        }
+        TeamDTO team = new TeamDTO();
+        team.setName("Equipo de prueba");
+        team.setSquad(squad);
+        return team;
+    }
+
+    private static PlayerDTO player(int matches) {
+        List<PlayerMatchStatsDTO> stats = new ArrayList<>();
+        for (int i = 0; i < matches; i++) {
+            stats.add(PlayerMatchStatsDTO.builder()
+                    .opponent("Rival " + i % 40).score(i % 4 + " : " + i % 3)
+                    .date(String.format("%02d-%02d-%02d", 1 + i % 28, 1 + i % 12, 10 + i / 60))
+                    .position("FW").minsPlayed(String.valueOf(60 + i % 31)).goals(String.valueOf(i % 3))
+                    .assists(String.valueOf(i % 2)).yellowCards("0").redCards("0").shots(String.valueOf(i % 6))
+                    .passSuccess("8" + i % 10 + ".0").aerialsWon(String.valueOf(i % 4)).rating("7." + i % 10 + "0")
+                    .build());
+        }
+        PlayerDTO player = new PlayerDTO();
+        player.setName("Jugador de prueba");
+        player.setShirtNumber("10");
+        player.setAge("30");
+        player.setHeight("170cm");
+        player.setPositions("Delantero Mediapunta");
+        player.setNationality("Argentina");
+        player.setCurrentTeam("Equipo de prueba");
+        player.setMatchStats(stats);
+        return player;
+    }
+}
@@ -0,0 +1,267 @@
+package com.dapp.scraper_service.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que imita la API de ScrapingBee. Devuelve las páginas de
+ * {@code src/test/resources/fixtures} armadas para el nombre buscado, con
+ * latencia log-normal y una proporción configurable de errores 500 y 429.
+ */
+public class FakeScrapingBeeServer implements AutoCloseable {
+
+    public static final String PLAYER_PREFIX = "Jugador ";
+    public static final String TEAM_PREFIX = "Equipo ";
+    static final int SQUAD_SIZE = 25;
+    static final int MATCHES_PER_PLAYER = 40;
+
+    /**
+     * @param latencyMedianMs mediana de la latencia simulada
+     * @param latencySigma    dispersión de la log-normal (0 = latencia fija)
+     * @param errorRate       proporción de respuestas 500
+     * @param throttleRate    proporción de respuestas 429
+     */
+    public record Settings(double latencyMedianMs, double latencySigma, double errorRate, double throttleRate) {
+    }
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final Map<String, String> templates = new HashMap<>();
+
+    private final AtomicLong searchCalls = new AtomicLong();
+    private final AtomicLong summaryCalls = new AtomicLong();
+    private final AtomicLong statsCalls = new AtomicLong();
+    private final AtomicLong teamCalls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final Queue<String> searchTerms = new ConcurrentLinkedQueue<>();
+
+    public FakeScrapingBeeServer(Settings settings) throws IOException {
+        this.settings = settings;
+        for (String name : new String[] { "search", "summary", "stats", "team" }) {
+            templates.put(name, loadFixture(name));
+        }
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/api/v1/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/v1/";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    public long searchCalls() {
+        return searchCalls.get();
+    }
+
+    // Lo que llegó en el parámetro t de cada búsqueda, en orden
+    public List<String> searchTerms() {
+        return List.copyOf(searchTerms);
+    }
+
+    public long summaryCalls() {
+        return summaryCalls.get();
+    }
+
+    public long statsCalls() {
+        return statsCalls.get();
+    }
+
+    public long teamCalls() {
+        return teamCalls.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public long throttled() {
+        return throttled.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            sleep();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < settings.throttleRate()) {
+                throttled.incrementAndGet();
+                send(exchange, 429, "Too many concurrent requests");
+                return;
+            }
+            if (roll < settings.throttleRate() + settings.errorRate()) {
+                errors.incrementAndGet();
+                send(exchange, 500, "Internal error");
+                return;
+            }
+
+            String targetUrl = queryParam(exchange.getRequestURI().getRawQuery(), "url");
+            if (targetUrl == null) {
+                send(exchange, 400, "Missing url");
+                return;
+            }
+            send(exchange, 200, render(targetUrl));
+        }
+    }
+
+    private String render(String targetUrl) {
+        int queryStart = targetUrl.indexOf('?');
+        String path = queryStart >= 0 ? targetUrl.substring(0, queryStart) : targetUrl;
+        String[] segments = path.split("/");
+        String slug = segments[segments.length - 1];
+
+        if (path.contains("/search/")) {
+            searchCalls.incrementAndGet();
+            String term = queryParam(targetUrl.substring(queryStart + 1), "t");
+            searchTerms.add(term);
+            return fill("search", term, "");
+        }
+        if (path.contains("/Players/") && path.contains("/Fixtures/")) {
+            statsCalls.incrementAndGet();
+            return fill("stats", nameFromSlug(slug), matchRows());
+        }
+        if (path.contains("/Players/")) {
+            summaryCalls.incrementAndGet();
+            return fill("summary", nameFromSlug(slug), "");
+        }
+        if (path.contains("/Teams/")) {
+            teamCalls.incrementAndGet();
+            return fill("team", nameFromSlug(slug), squadRows(slug));
+        }
+        return "<html><body></body></html>";
+    }
+
+    private String fill(String template, String name, String rows) {
+        String slug = name.trim().toLowerCase(Locale.ROOT).replace(' ', '-');
+        return templates.get(template)
+                .replace("{{name}}", name)
+                .replace("{{slug}}", slug)
+                .replace("{{id}}", String.valueOf(Math.abs(slug.hashCode())))
+                .replace("{{rows}}", rows);
+    }
+
+    private String nameFromSlug(String slug) {
+        String spaced = slug.replace('-', ' ');
+        return Character.toUpperCase(spaced.charAt(0)) + spaced.substring(1);
+    }
+
+    private String matchRows() {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < MATCHES_PER_PLAYER; i++) {
+            rows.append("<tr><td><a class=\"player-match-link\">Rival ").append(i)
+                    .append("</a><span class=\"scoreline\">2 : 1</span></td><td></td>")
+                    .append("<td>").append(String.format("%02d-%02d-25", 1 + i % 28, 1 + i % 12)).append("</td>")
+                    .append("<td>FW</td><td>90</td><td>1</td><td>0</td><td>0</td><td>0</td>")
+                    .append("<td>3</td><td>85.0</td><td>2</td><td>7.50</td></tr>\n");
+        }
+        return rows.toString();
+    }
+
+    // La plantilla de "equipo-N" son los jugadores N*25 .. N*25+24 del mismo pool
+    private String squadRows(String slug) {
+        int team;
+        try {
+            team = Integer.parseInt(slug.substring(slug.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            team = 0;
+        }
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < SQUAD_SIZE; i++) {
+            // Como en WhoScored, la plantilla muestra un nombre corto y enlaza a la
+            // página del jugador, que tiene el nombre completo
+            String name = playerName(team * SQUAD_SIZE + i);
+            String playerSlug = name.toLowerCase(Locale.ROOT).replace(' ', '-');
+            rows.append("<tr><td><a class=\"player-link\" href=\"/Players/")
+                    .append(Math.abs(playerSlug.hashCode())).append("/Show/").append(playerSlug)
+                    .append("\"><span class=\"iconize-icon-left\">")
+                    .append(shortName(team * SQUAD_SIZE + i))
+                    .append("</span></a><span class=\"player-meta-data\">25</span>")
+                    .append("<span class=\"player-meta-data\">, DC</span></td><td></td>")
+                    .append("<td>180</td><td>75</td><td>20</td><td>1700</td><td>5</td><td>3</td>")
+                    .append("<td>2</td><td>0</td><td>1.5</td><td>82.1</td><td>1.2</td><td>2</td><td>7.10</td></tr>\n");
+        }
+        return rows.toString();
+    }
+
+    public static String playerName(int index) {
+        return PLAYER_PREFIX + String.format("%05d", index);
+    }
+
+    public static String shortName(int index) {
+        return PLAYER_PREFIX.charAt(0) + ". " + String.format("%05d", index);
+    }
+
+    public static String teamName(int index) {
+        return TEAM_PREFIX + String.format("%04d", index);
+    }
+
+    private void sleep() {
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        long delay = Math.round(settings.latencyMedianMs() * Math.exp(settings.latencySigma() * gaussian));
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String queryParam(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static String loadFixture(String name) {
+        try (InputStream in = FakeScrapingBeeServer.class.getResourceAsStream("/fixtures/" + name + ".html")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.dapp.scraper_service.loadtest;
+
+import com.dapp.scraper_service.ScraperServiceApplication;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prueba de carga de punta a punta: levanta {@link FakeScrapingBeeServer}, arranca
+ * la aplicación apuntando a él con una base HSQLDB en memoria y le pega a
+ * {@code /api/scrape/player} y {@code /api/scrape/team} con nombres elegidos
+ * según una distribución de Zipf.
+ * <p>
+ * Se corre con {@code ./gradlew loadTest}; los parámetros van como
+ * {@code -PloadTestArgs="requests=20000 concurrency=64"}.
+ */
+public class LoadTestHarness {
+
+    // La de respuestas serializadas atiende primero; "players" y "teams" solo ven sus fallos
+    private static final String[] CACHES = { "responses", "players", "teams" };
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        int players = intOption(options, "players", 2000);
+        int teams = intOption(options, "teams", 80);
+        double zipfExponent = doubleOption(options, "zipf", 1.1);
+        int requests = intOption(options, "requests", 5000);
+        int concurrency = intOption(options, "concurrency", 32);
+        double teamShare = doubleOption(options, "teamShare", 0.2);
+        long seed = intOption(options, "seed", 42);
+
+        FakeScrapingBeeServer.Settings settings = new FakeScrapingBeeServer.Settings(
+                doubleOption(options, "latencyMedianMs", 300),
+                doubleOption(options, "latencySigma", 0.5),
+                doubleOption(options, "errorRate", 0.01),
+                doubleOption(options, "throttleRate", 0.02));
+
+        try (FakeScrapingBeeServer upstream = new FakeScrapingBeeServer(settings)) {
+            upstream.start();
+
+            ConfigurableApplicationContext context = SpringApplication.run(ScraperServiceApplication.class,
+                    "--server.port=0",
+                    "--scraper.api.base-url=" + upstream.baseUrl(),
+                    "--scraper.api.key=load-test",
+                    "--spring.datasource.url=jdbc:hsqldb:mem:loadtest",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.h2.console.enabled=false",
+                    "--logging.level.com.dapp.scraper_service=WARN");
+            try {
+                String port = context.getEnvironment().getProperty("local.server.port");
+                String baseUrl = "http://localhost:" + port + "/api/scrape";
+
+                ZipfSampler playerSampler = new ZipfSampler(players, zipfExponent);
+                ZipfSampler teamSampler = new ZipfSampler(teams, zipfExponent);
+
+                // Se arma la secuencia de antemano para que sea reproducible con la misma semilla
+                Random random = new Random(seed);
+                String[] urls = new String[requests];
+                for (int i = 0; i < requests; i++) {
+                    if (random.nextDouble() < teamShare) {
+                        urls[i] = baseUrl + "/team?teamName="
+                                + encode(FakeScrapingBeeServer.teamName(teamSampler.sample(random)));
+                    } else {
+                        urls[i] = baseUrl + "/player?playerName="
+                                + encode(FakeScrapingBeeServer.playerName(playerSampler.sample(random)));
+                    }
+                }
+
+                run(urls, concurrency, upstream, context.getBean(MeterRegistry.class));
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static void run(String[] urls, int concurrency, FakeScrapingBeeServer upstream,
+            MeterRegistry meterRegistry) throws InterruptedException {
+        Map<String, double[]> cacheGetsBefore = new HashMap<>();
+        for (String cache : CACHES) {
+            cacheGetsBefore.put(cache, cacheGets(meterRegistry, cache));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        long[] latencies = new long[urls.length];
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < urls.length) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(urls[i]))
+                            .header("Accept-Encoding", "gzip")
+                            .timeout(Duration.ofMinutes(2))
+                            .build();
+                    long t0 = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    latencies[i] = System.nanoTime() - t0;
+                    statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        long upstreamSearches = upstream.searchCalls();
+        long upstreamTotal = upstreamSearches + upstream.summaryCalls() + upstream.statsCalls()
+                + upstream.teamCalls() + upstream.errors() + upstream.throttled();
+
+        System.out.println();
+        System.out.println("=== Load test results ===");
+        System.out.printf("Requests:        %d in %.1f s (%.1f req/s, concurrency %d)%n", urls.length, seconds,
+                urls.length / seconds, concurrency);
+        System.out.printf("Latency (ms):    p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                percentile(latencies, 99.9), latencies[latencies.length - 1] / 1_000_000.0);
+        System.out.println("Status codes:    " + new HashMap<>(statuses));
+        System.out.printf("Upstream calls:  %d total (search=%d, summary=%d, stats=%d, team=%d, 500=%d, 429=%d)%n",
+                upstreamTotal, upstreamSearches, upstream.summaryCalls(), upstream.statsCalls(),
+                upstream.teamCalls(), upstream.errors(), upstream.throttled());
+        // Aciertos y fallos que cuenta cada caché (cache.gets), solo los de esta corrida
+        for (String cache : CACHES) {
+            double[] before = cacheGetsBefore.get(cache);
+            double[] after = cacheGets(meterRegistry, cache);
+            long hits = Math.round(after[0] - before[0]);
+            long misses = Math.round(after[1] - before[1]);
+            System.out.printf("Cache hit ratio: %-9s %.3f (%d hits, %d misses)%n", cache,
+                    hits + misses == 0 ? 0.0 : (double) hits / (hits + misses), hits, misses);
+        }
+    }
+
+    // { hits, misses } acumulados de la caché según el MeterRegistry de la aplicación
+    private static double[] cacheGets(MeterRegistry meterRegistry, String cache) {
+        double[] gets = new double[2];
+        for (FunctionCounter counter : meterRegistry.find("cache.gets").tag("cache", cache).functionCounters()) {
+            String result = counter.getId().getTag("result");
+            if ("hit".equals(result)) {
+                gets[0] += counter.count();
+            } else if ("miss".equals(result)) {
+                gets[1] += counter.count();
+            }
+        }
+        return gets;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq).replaceFirst("^--", ""), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static double doubleOption(Map<String, String> options, String name, double defaultValue) {
+        return options.containsKey(name) ? Double.parseDouble(options.get(name)) : defaultValue;
+    }
+
+    /**
+     * Muestrea índices 0..n-1 con probabilidad proporcional a 1 / (k+1)^s.
+     */
+    static class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+        }
+    }
+}
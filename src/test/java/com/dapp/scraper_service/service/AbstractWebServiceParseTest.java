@@ -0,0 +1,133 @@
+package com.dapp.scraper_service.service;
+
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbstractWebServiceParseTest {
+
+    private static final String STATS_TABLE = "tbody#player-table-statistics-body";
+    private static final int ROWS = 40;
+
+    private final AbstractWebService service = new AbstractWebService() {
+    };
+
+    // Página de estadísticas con mucho contenido después de la tabla
+    private byte[] page;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(service, "maxResponseBytes", 8L * 1024 * 1024);
+
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            rows.append("<tr><td><a class=\"player-match-link\">Rival ").append(i).append("</a></td></tr>\n");
+        }
+        String html = fixture("stats").replace("{{name}}", "Jugador 00000").replace("{{rows}}", rows)
+                .replace("</body>", "<div class=\"late\">x</div>\n".repeat(50_000) + "</body>");
+        page = html.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void stopsReadingOnceTheTargetSectionIsComplete() throws IOException {
+        CountingInputStream body = new CountingInputStream(new ByteArrayInputStream(page));
+
+        Document document = service.parse(body, "https://es.whoscored.com/", STATS_TABLE);
+
+        assertNotNull(document.selectFirst(STATS_TABLE));
+        assertEquals(ROWS, document.select(STATS_TABLE + " tr").size());
+        assertTrue(document.select("div.late").size() < 50_000);
+        assertTrue(body.count < page.length / 10,
+                "read " + body.count + " of " + page.length + " bytes");
+    }
+
+    @Test
+    void parsesTheWholePageWithoutStopSelector() throws IOException {
+        CountingInputStream body = new CountingInputStream(new ByteArrayInputStream(page));
+
+        Document document = service.parse(body, "https://es.whoscored.com/", null);
+
+        assertEquals(ROWS, document.select(STATS_TABLE + " tr").size());
+        assertEquals(50_000, document.select("div.late").size());
+        assertEquals(page.length, body.count);
+    }
+
+    @Test
+    void abortsWhenTheResponseExceedsTheMaximumSize() {
+        ReflectionTestUtils.setField(service, "maxResponseBytes", 64L * 1024);
+
+        Exception e = assertThrows(Exception.class,
+                () -> service.parse(new ByteArrayInputStream(page), "https://es.whoscored.com/", null));
+
+        assertTrue(hasCauseMessage(e, "exceeded the maximum of 65536 bytes"), e.toString());
+    }
+
+    @Test
+    void earlyStopKeepsLargePagesUnderTheMaximumSize() throws IOException {
+        ReflectionTestUtils.setField(service, "maxResponseBytes", 64L * 1024);
+
+        Document document = service.parse(new ByteArrayInputStream(page), "https://es.whoscored.com/", STATS_TABLE);
+
+        assertEquals(ROWS, document.select(STATS_TABLE + " tr").size());
+    }
+
+    @Test
+    void returnsNullForAMissingBody() throws IOException {
+        assertNull(service.parse(null, "https://es.whoscored.com/", STATS_TABLE));
+    }
+
+    private static boolean hasCauseMessage(Throwable e, String message) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = AbstractWebServiceParseTest.class.getResourceAsStream("/fixtures/" + name + ".html")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.repository.PlayerRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:hsqldb:mem:archive-ingestion-test")
+class ArchiveIngestionServiceTest {
+
+    @TempDir
+    Path archive;
+
+    @Autowired
+    private ArchiveIngestionService ingestionService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Test
+    void resumesFromTheCheckpointAfterARestart() throws IOException {
+        archivePlayer("uno.summary.html", "Archivado Uno", "27");
+        archivePlayer("dos.summary.html", "Archivado Dos", "27");
+
+        ingestionService.ingest(archive);
+
+        assertEquals("27", age("Archivado Uno"));
+        assertTrue(playerRepository.findByName("Archivado Dos").isPresent());
+        assertEquals(List.of("dos.summary.html", "uno.summary.html"), checkpoint());
+
+        // Otra corrida (como después de reiniciar): solo cuenta el checkpoint en disco.
+        // Si volviera a procesar "uno", guardaría la edad nueva
+        archivePlayer("uno.summary.html", "Archivado Uno", "31");
+        archivePlayer("tres.summary.html", "Archivado Tres", "27");
+
+        ingestionService.ingest(archive);
+
+        assertEquals("27", age("Archivado Uno"));
+        assertTrue(playerRepository.findByName("Archivado Tres").isPresent());
+        assertEquals(List.of("dos.summary.html", "uno.summary.html", "tres.summary.html"), checkpoint());
+    }
+
+    private void archivePlayer(String fileName, String name, String age) throws IOException {
+        String page;
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/summary.html")) {
+            page = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String slug = name.toLowerCase().replace(' ', '-');
+        page = page.replace("{{name}}", name)
+                .replace("{{slug}}", slug)
+                .replace("{{id}}", String.valueOf(Math.abs(slug.hashCode())))
+                .replace("27 años", age + " años");
+        Files.writeString(archive.resolve(fileName), page, StandardCharsets.UTF_8);
+    }
+
+    private String age(String name) {
+        return playerRepository.findByName(name).orElseThrow().getAge();
+    }
+
+    private List<String> checkpoint() throws IOException {
+        return Files.readAllLines(archive.resolve(ArchiveIngestionService.CHECKPOINT_FILE), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.dto.LineupDTO;
+import com.dapp.scraper_service.model.dto.LineupPlayerDTO;
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.PlayerMatchStatsDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import com.dapp.scraper_service.model.dto.TeamPlayerDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LineupServiceTest {
+
+    private static final String STORED = "/Players/1/Show/jugador-uno";
+    private static final String SCRAPED = "/Players/2/Show/jugador-dos";
+    private static final String BROKEN = "/Players/3/Show/jugador-tres";
+    private static final String SLOW = "/Players/4/Show/jugador-cuatro";
+
+    private final TeamService teamService = mock(TeamService.class);
+    private final PlayerService playerService = mock(PlayerService.class);
+    private final CountDownLatch slowScrape = new CountDownLatch(1);
+    private LineupService lineupService;
+
+    @BeforeEach
+    void setUp() {
+        lineupService = new LineupService(teamService, playerService, 4, Duration.ofMillis(300));
+
+        // La plantilla muestra nombres cortos; la página de cada jugador, el completo
+        TeamDTO team = new TeamDTO();
+        team.setName("Equipo");
+        team.setSquad(List.of(squadPlayer("J. Uno", STORED), squadPlayer("J. Dos", SCRAPED),
+                squadPlayer("J. Tres", BROKEN), squadPlayer("J. Cuatro", SLOW)));
+        when(teamService.getTeamInfoByName("Equipo")).thenReturn(List.of(team));
+
+        when(playerService.findRecentMatches(any(), anyInt())).thenReturn(Map.of());
+        when(playerService.findRecentMatchesByWhoScoredId(any(), anyInt()))
+                .thenReturn(Map.of(1L, List.of(match("Rival A"))));
+        when(playerService.getPlayerInfoByProfile(SCRAPED)).thenReturn(player("Jugador Dos", "Rival B"));
+        when(playerService.getPlayerInfoByProfile(BROKEN)).thenThrow(new RuntimeException("upstream 500"));
+        when(playerService.getPlayerInfoByProfile(SLOW)).thenAnswer(invocation -> {
+            slowScrape.await(5, TimeUnit.SECONDS);
+            return player("Jugador Cuatro", "Rival D");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowScrape.countDown();
+        lineupService.shutdown();
+    }
+
+    @Test
+    void scrapesMissingPlayersFromTheirProfileLink() {
+        LineupDTO lineup = lineupService.getLineup("Equipo", 5);
+
+        assertEquals(List.of("Rival A"), opponents(lineup.getSquad().get(0)));
+        assertEquals(List.of("Rival B"), opponents(lineup.getSquad().get(1)));
+        assertEquals(List.of("J. Tres"), lineup.getFailed());
+        assertEquals(List.of("J. Cuatro"), lineup.getPending());
+        assertTrue(lineup.getSquad().get(3).getRecentMatches().isEmpty());
+
+        // Nunca se busca por el nombre corto de la plantilla
+        verify(playerService, never()).getPlayerInfoByName(any());
+        verify(playerService, never()).getPlayerInfoByProfile(STORED);
+    }
+
+    @Test
+    void sharesAScrapeThatIsStillInFlight() {
+        LineupDTO first = lineupService.getLineup("Equipo", 5);
+        LineupDTO second = lineupService.getLineup("Equipo", 5);
+
+        assertEquals(List.of("J. Cuatro"), first.getPending());
+        assertEquals(List.of("J. Cuatro"), second.getPending());
+        verify(playerService, times(1)).getPlayerInfoByProfile(SLOW);
+    }
+
+    @Test
+    void fallsBackToAnExactNameMatchWithoutProfileLink() {
+        TeamDTO team = new TeamDTO();
+        team.setName("Viejo");
+        team.setSquad(List.of(squadPlayer("Pedri", null)));
+        when(teamService.getTeamInfoByName("Viejo")).thenReturn(List.of(team));
+        // La búsqueda por "contiene" devuelve a otro jugador
+        when(playerService.getPlayerInfoByName("Pedri")).thenReturn(List.of(player("Pedrinho", "Rival P")));
+
+        LineupDTO lineup = lineupService.getLineup("Viejo", 5);
+
+        assertEquals(List.of("Pedri"), lineup.getFailed());
+        assertTrue(lineup.getSquad().get(0).getRecentMatches().isEmpty());
+    }
+
+    private static List<String> opponents(LineupPlayerDTO player) {
+        return player.getRecentMatches().stream().map(PlayerMatchStatsDTO::getOpponent).toList();
+    }
+
+    private static TeamPlayerDTO squadPlayer(String name, String profileUrl) {
+        return TeamPlayerDTO.builder().name(name).profileUrl(profileUrl).build();
+    }
+
+    private static PlayerMatchStatsDTO match(String opponent) {
+        return PlayerMatchStatsDTO.builder().opponent(opponent).build();
+    }
+
+    private static PlayerDTO player(String name, String opponent) {
+        PlayerDTO player = new PlayerDTO();
+        player.setName(name);
+        player.setMatchStats(List.of(match(opponent)));
+        return player;
+    }
+}
@@ -0,0 +1,47 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.loadtest.FakeScrapingBeeServer;
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:hsqldb:mem:player-lookup-cache-test")
+class PlayerLookupCacheTest {
+
+    private static FakeScrapingBeeServer upstream;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) throws IOException {
+        upstream = new FakeScrapingBeeServer(new FakeScrapingBeeServer.Settings(1, 0, 0, 0));
+        upstream.start();
+        registry.add("scraper.api.base-url", upstream::baseUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void searchesWhoScoredWithTheQueryAsTypedAndCachesItNormalized() {
+        List<PlayerDTO> scraped = playerService.getPlayerInfoByName("Jugador 00002");
+        List<PlayerDTO> cached = playerService.getPlayerInfoByName("  JUGADOR 00002 ");
+
+        // La clave de la caché es la búsqueda normalizada, pero a WhoScored le llega la original
+        assertEquals(List.of("Jugador 00002"), upstream.searchTerms());
+        assertEquals("Jugador 00002", scraped.get(0).getName());
+        assertEquals(scraped, cached);
+    }
+}
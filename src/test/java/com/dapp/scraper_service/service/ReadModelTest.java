@@ -0,0 +1,157 @@
+package com.dapp.scraper_service.service;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.PlayerMatchStatsDTO;
+import com.dapp.scraper_service.model.dto.TeamDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadModelTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private final ReadModel readModel = new ReadModel(events::add);
+
+    @BeforeEach
+    void setUp() {
+        readModel.load(() -> List.of(player("Pedri")), () -> List.of(team("Barcelona")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void appliesSavesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        readModel.playerSaved(null, player("Pedrinho"));
+
+        assertTrue(readModel.getPlayer("pedrinho").isEmpty());
+        assertTrue(events.isEmpty());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(readModel.getPlayer("pedrinho").isPresent());
+        assertEquals(2, readModel.playerCount());
+        assertEquals(List.of(new LookupDataChangedEvent(Set.of("pedrinho"), Set.of())), events);
+    }
+
+    @Test
+    void discardsSavesOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        readModel.teamSaved(null, team("Girona"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertTrue(readModel.findTeams("girona").orElseThrow().isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void appliesImmediatelyOutsideATransaction() {
+        readModel.teamSaved(null, team("Girona"));
+
+        assertEquals(1, readModel.findTeams("girona").orElseThrow().size());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void removesTheStaleKeyOnRename() {
+        readModel.playerSaved("pedri", player("Pedri González"));
+
+        assertTrue(readModel.getPlayer("pedri").isEmpty());
+        assertTrue(readModel.getPlayer("pedri gonzalez").isPresent());
+        assertEquals(1, readModel.playerCount());
+        assertEquals(List.of(new LookupDataChangedEvent(Set.of("pedri", "pedri gonzalez"), Set.of())), events);
+    }
+
+    @Test
+    void keepsItsOwnCopyOfSavedPlayers() {
+        PlayerDTO saved = player("Gavi");
+        readModel.playerSaved(null, saved);
+
+        saved.setAge("99");
+        saved.getMatchStats().clear();
+
+        PlayerDTO stored = readModel.getPlayer("gavi").orElseThrow();
+        assertEquals("20", stored.getAge());
+        assertEquals(1, stored.getMatchStats().size());
+        assertThrows(UnsupportedOperationException.class, () -> stored.getMatchStats().clear());
+    }
+
+    @Test
+    void handsOutCopiesThatCannotChangeTheSnapshot() {
+        PlayerDTO read = readModel.getPlayer("pedri").orElseThrow();
+        read.setAge("99");
+        read.setMatchStats(List.of());
+
+        PlayerDTO again = readModel.findPlayers("pedri").orElseThrow().get(0);
+        assertEquals("20", again.getAge());
+        assertEquals("Rival", again.getMatchStats().get(0).getOpponent());
+        assertThrows(UnsupportedOperationException.class, () -> again.getMatchStats().clear());
+    }
+
+    @Test
+    void findsContainedNamesThroughTheTrigramIndex() {
+        readModel.playerSaved(null, player("Pedro Porro"));
+        readModel.playerSaved("pedri", player("Pedri González"));
+
+        assertEquals(List.of("Pedri González"), names(readModel.findPlayers("gonzalez")));
+        assertEquals(List.of("Pedri González", "Pedro Porro"), names(readModel.findPlayers("ped")));
+        assertEquals(List.of("Pedri González", "Pedro Porro"), names(readModel.findPlayers("e")));
+        assertEquals(List.of(), names(readModel.findPlayers("pedri porro")));
+        assertEquals(List.of(), names(readModel.findPlayers("xyz")));
+    }
+
+    @Test
+    void listsTheExactMatchFirst() {
+        readModel.playerSaved(null, player("Pedrinho"));
+        readModel.playerSaved(null, player("Apedri"));
+
+        List<PlayerDTO> found = readModel.findPlayers("pedri").orElseThrow();
+
+        assertEquals(List.of("Pedri", "Apedri", "Pedrinho"), found.stream().map(PlayerDTO::getName).toList());
+    }
+
+    private static List<String> names(Optional<List<PlayerDTO>> players) {
+        return players.orElseThrow().stream().map(PlayerDTO::getName).toList();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static PlayerDTO player(String name) {
+        PlayerDTO player = new PlayerDTO();
+        player.setName(name);
+        player.setAge("20");
+        player.setMatchStats(new ArrayList<>(List.of(PlayerMatchStatsDTO.builder().opponent("Rival").build())));
+        player.setVersion(0L);
+        return player;
+    }
+
+    private static TeamDTO team(String name) {
+        TeamDTO team = new TeamDTO();
+        team.setName(name);
+        team.setSquad(new ArrayList<>());
+        team.setVersion(0L);
+        return team;
+    }
+}
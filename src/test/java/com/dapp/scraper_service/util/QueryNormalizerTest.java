@@ -0,0 +1,35 @@
+package com.dapp.scraper_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryNormalizerTest {
+
+    @Test
+    void foldsCaseAccentsAndEncodingToTheSameKey() {
+        assertEquals("muller", QueryNormalizer.normalize("Müller"));
+        assertEquals("muller", QueryNormalizer.normalize(" muller "));
+        assertEquals("muller", QueryNormalizer.normalize("M%C3%BCller"));
+        assertEquals("muller", QueryNormalizer.normalize("MÜLLER"));
+        assertEquals("muniz", QueryNormalizer.normalize("Muñiz"));
+    }
+
+    @Test
+    void collapsesWhitespaceAndDecodesPlusAsSpace() {
+        assertEquals("lionel messi", QueryNormalizer.normalize("  Lionel \t  Messi\n"));
+        assertEquals("lionel messi", QueryNormalizer.normalize("Lionel+Messi"));
+        assertEquals("lionel messi", QueryNormalizer.normalize("Lionel%20Messi"));
+    }
+
+    @Test
+    void keepsTextWithAnInvalidPercentSequence() {
+        assertEquals("100% messi", QueryNormalizer.normalize("100% Messi"));
+    }
+
+    @Test
+    void treatsNullAsEmpty() {
+        assertEquals("", QueryNormalizer.normalize(null));
+        assertEquals("", QueryNormalizer.normalize("   "));
+    }
+}
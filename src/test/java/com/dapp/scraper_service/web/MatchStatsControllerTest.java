@@ -0,0 +1,157 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.model.dto.PlayerMatchStatsDTO;
+import com.dapp.scraper_service.service.PlayerService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:hsqldb:mem:match-stats-test")
+@AutoConfigureMockMvc
+class MatchStatsControllerTest {
+
+    private static final String PLAYER = "Jugador Cursor";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        // Primer scrapeo con tres partidos y otro más tarde con dos nuevos: las filas
+        // nuevas tienen ids mayores pero son las más recientes
+        playerService.savePlayers(List.of(player("01-01-25", "02-02-25", "03-03-25")));
+        playerService.savePlayers(List.of(player("01-01-25", "02-02-25", "03-03-25", "04-04-25", "05-05-25", "")));
+    }
+
+    @Test
+    void pagesFromTheMostRecentMatch() throws Exception {
+        JsonNode first = page("limit=3");
+        assertEquals(List.of("05-05-25", "04-04-25", "03-03-25"), dates(first));
+
+        JsonNode second = page("limit=3&after=" + first.get("nextCursor").asText());
+        assertEquals(List.of("02-02-25", "01-01-25", ""), dates(second));
+
+        JsonNode third = page("limit=3&after=" + second.get("nextCursor").asText());
+        assertEquals(List.of(), dates(third));
+        assertTrue(third.get("nextCursor").isNull());
+    }
+
+    @Test
+    void filtersByDateRange() throws Exception {
+        JsonNode page = page("from=2025-02-01&to=2025-04-30");
+
+        assertEquals(List.of("04-04-25", "03-03-25", "02-02-25"), dates(page));
+        assertTrue(page.get("nextCursor").isNull());
+    }
+
+    @Test
+    void selectsFieldsAndAlwaysIncludesTheCursor() throws Exception {
+        JsonNode page = page("limit=2&fields=opponent,date");
+
+        for (JsonNode item : page.get("items")) {
+            List<String> names = new ArrayList<>();
+            item.fieldNames().forEachRemaining(names::add);
+            assertEquals(List.of("cursor", "opponent", "date"), names);
+        }
+        assertEquals(page.get("items").get(1).get("cursor").asText(), page.get("nextCursor").asText());
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndInvalidCursors() throws Exception {
+        mvc.perform(get("/api/scrape/player/matches?playerName=" + PLAYER + "&fields=id"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/scrape/player/matches?playerName=" + PLAYER + "&after=12"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/scrape/player/matches?playerName=" + PLAYER + "&after=2025-13-01_12"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void resumesAnNdjsonStreamFromAnyRow() throws Exception {
+        List<JsonNode> all = ndjson("fields=date");
+        assertEquals(6, all.size());
+        assertEquals("05-05-25", all.get(0).get("date").asText());
+
+        List<JsonNode> rest = ndjson("fields=date&after=" + all.get(1).get("cursor").asText());
+
+        assertEquals(all.subList(2, all.size()), rest);
+    }
+
+    @Test
+    void doesNotServeAnotherPlayerForAPartialName() throws Exception {
+        // "Jugador Curso" está contenido en "Jugador Cursor", pero no es ese jugador
+        mvc.perform(get("/api/scrape/player/matches?playerName=Jugador Curso"))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/api/scrape/player/matches?playerName=jugador cursor"))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode page(String query) throws Exception {
+        MvcResult result = mvc.perform(get("/api/scrape/player/matches?playerName=" + PLAYER + "&" + query)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private List<JsonNode> ndjson(String query) throws Exception {
+        MvcResult started = mvc.perform(get("/api/scrape/player/matches?playerName=" + PLAYER + "&" + query)
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                JsonNode row = objectMapper.readTree(line);
+                assertNotNull(row.get("cursor"));
+                lines.add(row);
+            }
+        }
+        return lines;
+    }
+
+    private static List<String> dates(JsonNode page) {
+        List<String> dates = new ArrayList<>();
+        page.get("items").forEach(item -> dates.add(item.get("date").asText()));
+        return dates;
+    }
+
+    private static PlayerDTO player(String... dates) {
+        List<PlayerMatchStatsDTO> stats = new ArrayList<>();
+        for (String date : dates) {
+            stats.add(PlayerMatchStatsDTO.builder().opponent("Rival " + date).date(date).build());
+        }
+        PlayerDTO player = new PlayerDTO();
+        player.setName(PLAYER);
+        player.setMatchStats(stats);
+        return player;
+    }
+}
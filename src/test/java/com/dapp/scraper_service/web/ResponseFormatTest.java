@@ -0,0 +1,38 @@
+package com.dapp.scraper_service.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseFormatTest {
+
+    @Test
+    void defaultsToJson() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(" "));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("*/*"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("text/html"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("not a media type"));
+    }
+
+    @Test
+    void picksTheBinaryFormatsByMediaType() {
+        assertEquals(ResponseFormat.SMILE, ResponseFormat.negotiate(ResponseFormat.SMILE_VALUE));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate(ResponseFormat.CBOR_VALUE));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("text/html, application/cbor"));
+    }
+
+    @Test
+    void prefersTheHighestQuality() {
+        assertEquals(ResponseFormat.SMILE,
+                ResponseFormat.negotiate("application/cbor;q=0.5, application/x-jackson-smile"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("application/json;q=0.1, application/cbor;q=0.9"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0.2, */*;q=0.8"));
+    }
+
+    @Test
+    void skipsRejectedFormats() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0, application/*"));
+    }
+}
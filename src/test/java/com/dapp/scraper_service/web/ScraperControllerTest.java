@@ -0,0 +1,97 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.model.dto.PlayerDTO;
+import com.dapp.scraper_service.service.PlayerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:hsqldb:mem:scraper-controller-test")
+@AutoConfigureMockMvc
+class ScraperControllerTest {
+
+    private static final String PLAYER = "Jugador Etag";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @BeforeEach
+    void setUp() {
+        PlayerDTO player = new PlayerDTO();
+        player.setName(PLAYER);
+        player.setMatchStats(List.of());
+        playerService.savePlayers(List.of(player));
+    }
+
+    @Test
+    void eachContentCodingHasItsOwnEtag() throws Exception {
+        MvcResult gzip = lookup("gzip, deflate");
+        MvcResult identity = lookup("gzip;q=0, deflate");
+
+        assertTrue(gzip.getResponse().getHeader(HttpHeaders.ETAG).endsWith("-gzip\""));
+        assertNotEquals(gzip.getResponse().getHeader(HttpHeaders.ETAG),
+                identity.getResponse().getHeader(HttpHeaders.ETAG));
+        assertNull(identity.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(String.join(",", gzip.getResponse().getHeaders(HttpHeaders.VARY))
+                .contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream body = new GZIPInputStream(
+                new ByteArrayInputStream(gzip.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(identity.getResponse().getContentAsByteArray(), body.readAllBytes());
+        }
+    }
+
+    @Test
+    void revalidatesAgainstTheChosenCoding() throws Exception {
+        String gzipEtag = lookup("gzip").getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/scrape/player?playerName=" + PLAYER)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified());
+        // El ETag de los bytes comprimidos no valida la copia sin comprimir
+        mvc.perform(get("/api/scrape/player?playerName=" + PLAYER)
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void parsesAcceptEncodingQualityValues() {
+        assertTrue(ScraperController.acceptsGzip("gzip"));
+        assertTrue(ScraperController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(ScraperController.acceptsGzip("br, *"));
+        assertFalse(ScraperController.acceptsGzip(null));
+        assertFalse(ScraperController.acceptsGzip("gzip;q=0"));
+        assertFalse(ScraperController.acceptsGzip("gzip; q=0.0, *"));
+        assertFalse(ScraperController.acceptsGzip("*;q=0"));
+        assertFalse(ScraperController.acceptsGzip("identity"));
+    }
+
+    private MvcResult lookup(String acceptEncoding) throws Exception {
+        return mvc.perform(get("/api/scrape/player?playerName=" + PLAYER)
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
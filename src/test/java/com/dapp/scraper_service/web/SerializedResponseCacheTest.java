@@ -0,0 +1,87 @@
+package com.dapp.scraper_service.web;
+
+import com.dapp.scraper_service.service.LookupDataChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SerializedResponseCacheTest {
+
+    private final SerializedResponseCache cache = new SerializedResponseCache(new ObjectMapper(),
+            Jackson2ObjectMapperBuilder.json(), new SimpleMeterRegistry(), DataSize.ofMegabytes(1),
+            Duration.ofHours(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void evictsResponsesThatIncludeAChangedName() {
+        get("pedri", "Pedri");
+        get("pedri", "Pedri");
+        assertEquals(1, loads.get());
+
+        cache.evict(new LookupDataChangedEvent(Set.of("pedri"), Set.of()));
+        get("pedri", "Pedri");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void keepsResponsesForOtherNames() {
+        get("pedri", "Pedri");
+
+        cache.evict(new LookupDataChangedEvent(Set.of("gavi"), Set.of("pedri")));
+        get("pedri", "Pedri");
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void doesNotStoreALoadThatWasInFlightWhenTheSaveCommitted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> inFlight = CompletableFuture.runAsync(() -> cache.get(ResponseFormat.JSON,
+                "player", "pedri", () -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return List.of("Pedri (antes del guardado)");
+                }, Function.identity(), Function.identity()));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        cache.evict(new LookupDataChangedEvent(Set.of("pedri"), Set.of()));
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        get("pedri", "Pedri");
+
+        assertEquals(2, loads.get());
+    }
+
+    private void get(String query, String name) {
+        cache.get(ResponseFormat.JSON, "player", query, () -> {
+            loads.incrementAndGet();
+            return List.of(name);
+        }, Function.identity(), Function.identity());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}